@@ -0,0 +1,34 @@
+package com.example.benchmarks;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/** In-memory request body for driving HttpMessageConverters without a servlet container. */
+final class BufferInputMessage implements HttpInputMessage {
+
+    private final byte[] body;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    BufferInputMessage(byte[] body) {
+        this.body = body;
+    }
+
+    BufferInputMessage(byte[] body, MediaType contentType) {
+        this(body);
+        headers.setContentType(contentType);
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.common.grpc.WireCapture;
+import com.example.common.grpc.WireCaptureProperties;
+import com.example.common.tracing.Tracer;
+import com.example.common.tracing.TracingProperties;
+import com.example.servicea.ClientInterceptorChain;
+import com.example.servicea.EmployeeGrpcClient;
+import com.example.servicea.MetricsClientInterceptor;
+import com.example.servicea.TracingClientInterceptor;
+import com.example.servicea.config.GrpcClientProperties;
+import com.example.servicea.config.PooledChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.serviceb.grpc.EmployeeServiceImpl;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per second stored by service-b through EmployeeGrpcClient: one addEmployee call per
+ * record against the addEmployees stream, in batches of {@code batchSize} with {@code window}
+ * batches unacknowledged. Runs over the in-process transport, so the gap is per-call overhead
+ * rather than network round trips, which would only widen it. Each iteration starts on an empty
+ * repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkIngestBenchmark {
+
+    private static final int RECORDS = 10_000;
+
+    /** Batching parameters, used only by {@link #addEmployeesStream}. */
+    @State(Scope.Benchmark)
+    public static class Batching {
+        @Param({"100", "500"})
+        public int batchSize;
+
+        @Param({"1", "4"})
+        public int window;
+    }
+
+    private final Employee template = Employee.newBuilder().setName("bulk").setSalary(1000.0).setIsActive(true).build();
+    private Server server;
+    private PooledChannel channel;
+    private EmployeeGrpcClient client;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new EmployeeServiceImpl(
+                        new InMemoryEmployeeRepository(), new InMemoryProfilePictureStore(1 << 20)))
+                .build()
+                .start();
+        GrpcClientProperties properties = new GrpcClientProperties();
+        properties.setAddress("in-process:" + name);
+        channel = PooledChannel.create(properties);
+        TracingProperties tracing = new TracingProperties();
+        tracing.setEnabled(false);
+        client = new EmployeeGrpcClient(channel, properties, new ClientInterceptorChain(properties,
+                new WireCapture(new WireCaptureProperties()),
+                new MetricsClientInterceptor(new SimpleMeterRegistry()),
+                new TracingClientInterceptor(new Tracer(tracing, "service-a"))));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        channel.shutdown();
+        server.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public Employee addEmployeeUnary() {
+        Employee last = null;
+        for (int i = 0; i < RECORDS; i++) {
+            last = client.addEmployee(template);
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public long addEmployeesStream(Batching batching) throws InterruptedException {
+        return client.addEmployees(Collections.nCopies(RECORDS, template).iterator(),
+                batching.batchSize, batching.window);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.benchmarks;
+
+import com.example.EmployeeList;
+import com.example.common.grpc.Codecs;
+import com.google.protobuf.ByteString;
+import io.grpc.Codec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bandwidth against CPU for each message encoding service-a and service-b register, on the
+ * serialized bytes of a getEmployee ({@code employees=1}) or getAllEmployees response.
+ * {@code compress} and {@code decompress} time one message through the codec's streams, as the
+ * gRPC framer and deframer use them; the {@code wireBytes} counter is the compressed size, so
+ * {@code wireBytes / messageBytes} is the ratio on the wire. Pictures are random bytes and show
+ * what compressing already-compressed data costs; in the getAllEmployees case each employee carries
+ * 1/64 of {@code pictureBytes} to stay under the default message size limit. gzip is also what
+ * Tomcat applies to REST bodies above {@code server.compression.min-response-size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({Codecs.IDENTITY, Codecs.GZIP, Codecs.SNAPPY})
+    public String codec;
+
+    @Param({"1", "1000"})
+    public int employees;
+
+    @Param({"0", "65536"})
+    public int pictureBytes;
+
+    private Codec compressor;
+    private byte[] message;
+    private byte[] compressed;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    /** Bytes per operation before and after compression, reported next to the time. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long messageBytes;
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messageBytes = 0;
+            wireBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        compressor = Codecs.forName(codec);
+        // A distinct picture per employee, so repeats within the list can't flatter the ratio
+        Random random = new Random(42);
+        byte[] picture = new byte[employees == 1 ? pictureBytes : pictureBytes / 64];
+        EmployeeList.Builder list = EmployeeList.newBuilder();
+        for (int i = 0; i < employees; i++) {
+            random.nextBytes(picture);
+            list.addEmployees(Payloads.employee(0, 3, 5).toBuilder()
+                    .setId(i + 1)
+                    .setName("Benchmark Employee " + i)
+                    .setProfilePicture(ByteString.copyFrom(picture)));
+        }
+        message = employees == 1 ? list.getEmployees(0).toByteArray() : list.build().toByteArray();
+        compressToBuffer();
+        compressed = buffer.toByteArray();
+    }
+
+    @Benchmark
+    public int compress(Sizes sizes) throws IOException {
+        int length = compressToBuffer();
+        sizes.messageBytes += message.length;
+        sizes.wireBytes += length;
+        return length;
+    }
+
+    @Benchmark
+    public long decompress() throws IOException {
+        try (InputStream in = compressor.decompress(new ByteArrayInputStream(compressed))) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private int compressToBuffer() throws IOException {
+        buffer.reset();
+        try (OutputStream out = compressor.compress(buffer)) {
+            out.write(message);
+        }
+        return buffer.size();
+    }
+}
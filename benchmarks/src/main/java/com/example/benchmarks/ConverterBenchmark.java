@@ -0,0 +1,96 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.servicea.config.ProtobufHttpMessageConverter;
+import com.google.protobuf.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Original reflective, String-buffered ProtobufHttpMessageConverter against the current one,
+ * over JSON and over application/x-protobuf. Run with {@code -prof gc} to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"0", "65536"})
+    public int pictureBytes;
+
+    @Param({"1", "100"})
+    public int departments;
+
+    private final LegacyProtobufHttpMessageConverter legacy = new LegacyProtobufHttpMessageConverter();
+    private final ProtobufHttpMessageConverter current = new ProtobufHttpMessageConverter();
+
+    private Employee employee;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        employee = Payloads.employee(pictureBytes, departments, 2);
+        binary = employee.toByteArray();
+        BufferOutputMessage out = new BufferOutputMessage();
+        try {
+            legacy.write(employee, MediaType.APPLICATION_JSON, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        json = out.body.toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream legacyJsonWrite() throws IOException {
+        BufferOutputMessage out = new BufferOutputMessage();
+        legacy.write(employee, MediaType.APPLICATION_JSON, out);
+        return out.body;
+    }
+
+    @Benchmark
+    public Message legacyJsonRead() throws IOException {
+        return legacy.read(Employee.class, new BufferInputMessage(json, MediaType.APPLICATION_JSON));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream currentJsonWrite() throws IOException {
+        BufferOutputMessage out = new BufferOutputMessage();
+        current.write(employee, MediaType.APPLICATION_JSON, out);
+        return out.body;
+    }
+
+    @Benchmark
+    public Message currentJsonRead() throws IOException {
+        return current.read(Employee.class, new BufferInputMessage(json, MediaType.APPLICATION_JSON));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream currentProtobufWrite() throws IOException {
+        BufferOutputMessage out = new BufferOutputMessage();
+        current.write(employee, ProtobufHttpMessageConverter.PROTOBUF, out);
+        return out.body;
+    }
+
+    @Benchmark
+    public Message currentProtobufRead() throws IOException {
+        return current.read(Employee.class, new BufferInputMessage(binary, ProtobufHttpMessageConverter.PROTOBUF));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.google.protobuf.util.JsonFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput of service-a's /grpc and /rest employee endpoints, in full and
+ * projected to id, name and salary with {@code fields=}.
+ * Both services must already be running, e.g. via docker-compose; point {@code baseUrl} at service-a.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class FullStackBenchmark {
+
+    private static final String PROJECTION = "?fields=id,name,salary";
+
+    @Param("http://localhost:8080")
+    public String baseUrl;
+
+    @Param({"0", "65536"})
+    public int pictureBytes;
+
+    @Param({"1", "100"})
+    public int departments;
+
+    private HttpClient client;
+    private URI grpcUri;
+    private URI restUri;
+    private URI grpcProjectedUri;
+    private URI restProjectedUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String body = JsonFormat.printer().print(Payloads.employee(pictureBytes, departments, departments));
+        grpcUri = URI.create(baseUrl + "/grpc/employee/" + create("/grpc/employee", body));
+        restUri = URI.create(baseUrl + "/rest/employee/" + create("/rest/employee", body));
+        grpcProjectedUri = URI.create(grpcUri + PROJECTION);
+        restProjectedUri = URI.create(restUri + PROJECTION);
+    }
+
+    private int create(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + " failed: " + response.statusCode());
+        }
+        Employee.Builder created = Employee.newBuilder();
+        JsonFormat.parser().ignoringUnknownFields().merge(response.body(), created);
+        return created.getId();
+    }
+
+    @Benchmark
+    public byte[] grpcPath() throws IOException, InterruptedException {
+        return get(grpcUri);
+    }
+
+    @Benchmark
+    public byte[] restPath() throws IOException, InterruptedException {
+        return get(restUri);
+    }
+
+    @Benchmark
+    public byte[] grpcPathProjected() throws IOException, InterruptedException {
+        return get(grpcProjectedUri);
+    }
+
+    @Benchmark
+    public byte[] restPathProjected() throws IOException, InterruptedException {
+        return get(restProjectedUri);
+    }
+
+    private byte[] get(URI uri) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Drives service-a's {@code /grpc/employee} or {@code /rest/employee} endpoints over HTTP/1.1.
+ */
+final class HttpLoadTarget implements LoadTarget {
+
+    private static final String PROJECTION = "?fields=id,name,salary";
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String employeeUrl;
+
+    HttpLoadTarget(String baseUrl, String prefix) {
+        this.employeeUrl = baseUrl + prefix + "/employee";
+    }
+
+    @Override
+    public CompletableFuture<?> get(int id, boolean projected) {
+        URI uri = URI.create(employeeUrl + "/" + id + (projected ? PROJECTION : ""));
+        return send(HttpRequest.newBuilder(uri).GET().build());
+    }
+
+    @Override
+    public CompletableFuture<Integer> add(Employee employee) {
+        String body;
+        try {
+            body = JsonFormat.printer().print(employee);
+        } catch (InvalidProtocolBufferException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(employeeUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return send(request).thenApply(json -> {
+            Employee.Builder created = Employee.newBuilder();
+            try {
+                JsonFormat.parser().ignoringUnknownFields().merge(json, created);
+            } catch (InvalidProtocolBufferException e) {
+                throw new CompletionException(e);
+            }
+            return created.getId();
+        });
+    }
+
+    private CompletableFuture<String> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new CompletionException(new IllegalStateException(
+                        request.method() + " " + request.uri() + " returned " + response.statusCode()));
+            }
+            return response.body();
+        });
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.google.protobuf.FieldMask;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.example.serviceb.grpc.EmployeeServiceImpl;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getEmployee latency through the real EmployeeServiceImpl over the in-process transport,
+ * i.e. stub, marshalling and server dispatch without the network. The wire-logging interceptor
+ * is left out because it would dominate the measurement. {@code projectedGetEmployee} asks for
+ * id, name and salary only; the {@code responseBytes} counter is the serialized size of the
+ * responses, so dividing it by the operation count compares the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InProcessRpcBenchmark {
+
+    @Param({"0", "65536", "1048576"})
+    public int pictureBytes;
+
+    @Param({"1", "100"})
+    public int departments;
+
+    private Server server;
+    private ManagedChannel channel;
+    private EmployeeServiceGrpc.EmployeeServiceBlockingStub stub;
+    private GetEmployeeRequest request;
+    private GetEmployeeRequest projectedRequest;
+
+    /** Response bytes received, reported next to the latency. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long responseBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            responseBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new EmployeeServiceImpl(
+                        new InMemoryEmployeeRepository(), new InMemoryProfilePictureStore(1 << 20)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        stub = EmployeeServiceGrpc.newBlockingStub(channel);
+
+        Employee stored = stub.addEmployee(Payloads.employee(pictureBytes, departments, departments));
+        request = GetEmployeeRequest.newBuilder().setId(stored.getId()).build();
+        projectedRequest = request.toBuilder()
+                .setReadMask(FieldMask.newBuilder().addPaths("id").addPaths("name").addPaths("salary"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Benchmark
+    public Employee getEmployee(Sizes sizes) {
+        Employee employee = stub.getEmployee(request);
+        sizes.responseBytes += employee.getSerializedSize();
+        return employee;
+    }
+
+    @Benchmark
+    public Employee projectedGetEmployee(Sizes sizes) {
+        Employee employee = stub.getEmployee(projectedRequest);
+        sizes.responseBytes += employee.getSerializedSize();
+        return employee;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for finding service-b's saturation point, with latency recorded in an HDR histogram.
+ *
+ * <p>Open loop issues requests on a fixed schedule and measures each one from its <em>intended</em>
+ * start, so a stalled server is charged for the requests it delayed, not just the ones it answered
+ * (coordinated omission). Closed loop keeps {@code concurrency} requests outstanding; with
+ * {@code --rate} it paces each worker and back-fills the samples a stall would have hidden.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.benchmarks.LoadGenerator \
+ *     --target=stub --mode=open --rate=20000 --concurrency=512 --duration=60s
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private final LoadOptions options;
+    private final LoadTarget target;
+    private final LoadTarget.Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Employee template;
+    private final Recorder recorder = new Recorder(3);
+    private final AtomicLong errors = new AtomicLong();
+    private int[] ids;
+
+    private LoadGenerator(LoadOptions options, LoadTarget target) {
+        this.options = options;
+        this.target = target;
+        this.operations = options.mix().keySet().toArray(LoadTarget.Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.template = Payloads.employee(options.pictureBytes(), options.departments(), 2);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        try (LoadTarget target = LoadTarget.create(options)) {
+            new LoadGenerator(options, target).run();
+        }
+    }
+
+    private void run() throws Exception {
+        seed();
+        System.out.printf("target=%s mode=%s rate=%s concurrency=%d mix=%s%n", options.target(),
+                options.open() ? "open" : "closed", options.rate() > 0 ? options.rate() : "unbounded",
+                options.concurrency(), options.mix());
+
+        drive(options.warmup().toNanos());
+        recorder.reset();
+        errors.set(0);
+
+        Histogram total = new Histogram(3);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("load-reporter").factory());
+        long start = System.nanoTime();
+        Histogram[] interval = {null};
+        reporter.scheduleAtFixedRate(() -> {
+            interval[0] = recorder.getIntervalHistogram(interval[0]);
+            total.add(interval[0]);
+            printInterval((System.nanoTime() - start) / 1_000_000_000L, interval[0]);
+        }, 1, 1, TimeUnit.SECONDS);
+
+        drive(options.duration().toNanos());
+        reporter.shutdown();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+        total.add(recorder.getIntervalHistogram());
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%ncompleted=%d errors=%d throughput=%.0f req/s%n",
+                total.getTotalCount(), errors.get(), total.getTotalCount() / seconds);
+        // Values are recorded in nanoseconds and reported in microseconds
+        total.outputPercentileDistribution(System.out, 1000.0);
+        if (options.hgrm() != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(options.hgrm()))) {
+                total.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    /** Creates the employees that reads will target, so every read hits an existing id. */
+    private void seed() throws Exception {
+        List<CompletableFuture<Integer>> created = new ArrayList<>();
+        for (int i = 0; i < options.employees(); i++) {
+            created.add(target.add(template));
+        }
+        ids = new int[created.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = created.get(i).get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void drive(long durationNanos) throws InterruptedException {
+        if (options.open()) {
+            driveOpen(durationNanos);
+        } else {
+            driveClosed(durationNanos);
+        }
+    }
+
+    private void driveOpen(long durationNanos) throws InterruptedException {
+        long interval = (long) (1e9 / options.rate());
+        Semaphore outstanding = new Semaphore(options.concurrency());
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Blocking here delays later sends, but each is still timed from its intended start
+            outstanding.acquire();
+            issue().whenComplete((result, error) -> {
+                record(intended, error);
+                outstanding.release();
+            });
+        }
+        outstanding.acquire(options.concurrency());
+    }
+
+    private void driveClosed(long durationNanos) throws InterruptedException {
+        long interval = options.rate() > 0 ? (long) (1e9 * options.concurrency() / options.rate()) : 0;
+        long end = System.nanoTime() + durationNanos;
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < options.concurrency(); w++) {
+            workers.add(Thread.ofPlatform().name("load-worker-" + w).start(() -> {
+                long next = System.nanoTime();
+                while (next < end) {
+                    long wait;
+                    while ((wait = next - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    long begin = System.nanoTime();
+                    Throwable error = null;
+                    try {
+                        issue().join();
+                    } catch (RuntimeException e) {
+                        error = e;
+                    }
+                    long latency = System.nanoTime() - begin;
+                    if (error != null) {
+                        errors.incrementAndGet();
+                    }
+                    if (interval > 0) {
+                        recorder.recordValueWithExpectedInterval(latency, interval);
+                        next += interval;
+                    } else {
+                        recorder.recordValue(latency);
+                        next = System.nanoTime();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private CompletableFuture<?> issue() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int op = 0;
+        while (pick >= cumulativeWeights[op]) {
+            op++;
+        }
+        try {
+            return switch (operations[op]) {
+                case GET -> target.get(ids[random.nextInt(ids.length)], false);
+                case PROJECTED -> target.get(ids[random.nextInt(ids.length)], true);
+                case ADD -> target.add(template);
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void record(long intendedStart, Throwable error) {
+        if (error != null) {
+            errors.incrementAndGet();
+        }
+        recorder.recordValue(System.nanoTime() - intendedStart);
+    }
+
+    private void printInterval(long second, Histogram h) {
+        System.out.printf("[%3ds] %7d req/s  p50=%8.0fus  p99=%8.0fus  p99.9=%8.0fus  max=%8.0fus  errors=%d%n",
+                second, h.getTotalCount(),
+                h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0,
+                h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0, errors.get());
+    }
+}
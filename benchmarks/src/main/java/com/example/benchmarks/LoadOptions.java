@@ -0,0 +1,91 @@
+package com.example.benchmarks;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line for {@link LoadGenerator}, given as {@code --name=value} pairs.
+ *
+ * @param target     {@code grpc} or {@code rest} (service-a endpoints) or {@code stub} (service-b directly)
+ * @param open       open loop: requests start on a fixed schedule regardless of responses
+ * @param rate       requests per second; required in open loop, paces and corrects closed loop when set
+ * @param concurrency closed-loop workers, or the cap on outstanding requests in open loop
+ * @param mix        relative weight of each operation
+ * @param employees  employees created before the run; reads pick among them at random
+ * @param hgrm       optional file for the full percentile distribution
+ */
+record LoadOptions(String target, boolean open, double rate, int concurrency, Duration duration, Duration warmup,
+                   Map<LoadTarget.Operation, Integer> mix, int pictureBytes, int departments, int employees,
+                   String serviceA, String serviceB, String hgrm) {
+
+    static final String USAGE = """
+            Usage: LoadGenerator [--name=value ...]
+              --target=grpc|rest|stub     service-a /grpc or /rest path, or service-b stubs (default grpc)
+              --mode=open|closed          fixed arrival rate or fixed concurrency (default closed)
+              --rate=N                    requests/s; required for open, optional pacing for closed
+              --concurrency=N             closed-loop workers / open-loop max outstanding (default 16)
+              --duration=30s --warmup=5s
+              --mix=get:80,projected:10,add:10
+              --picture-bytes=0 --departments=1 --employees=100
+              --service-a=http://localhost:8080 --service-b=localhost:9090
+              --hgrm=FILE                 write the percentile distribution to FILE
+            """;
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        boolean open = switch (values.getOrDefault("mode", "closed")) {
+            case "open" -> true;
+            case "closed" -> false;
+            default -> throw new IllegalArgumentException("--mode must be open or closed");
+        };
+        double rate = Double.parseDouble(values.getOrDefault("rate", "0"));
+        if (open && rate <= 0) {
+            throw new IllegalArgumentException("Open loop needs --rate");
+        }
+        return new LoadOptions(
+                values.getOrDefault("target", "grpc"),
+                open,
+                rate,
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                duration(values.getOrDefault("duration", "30s")),
+                duration(values.getOrDefault("warmup", "5s")),
+                mix(values.getOrDefault("mix", "get:80,projected:10,add:10")),
+                Integer.parseInt(values.getOrDefault("picture-bytes", "0")),
+                Integer.parseInt(values.getOrDefault("departments", "1")),
+                Integer.parseInt(values.getOrDefault("employees", "100")),
+                values.getOrDefault("service-a", "http://localhost:8080"),
+                values.getOrDefault("service-b", "localhost:9090"),
+                values.get("hgrm"));
+    }
+
+    /** Accepts the same forms as Spring properties: {@code 30s}, {@code 500ms}, {@code 2m}. */
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+
+    private static Map<LoadTarget.Operation, Integer> mix(String value) {
+        Map<LoadTarget.Operation, Integer> mix = new EnumMap<>(LoadTarget.Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.split(":");
+            mix.put(LoadTarget.Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+}
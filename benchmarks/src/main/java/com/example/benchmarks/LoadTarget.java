@@ -0,0 +1,39 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One system under load. Calls are asynchronous so the open-loop driver never waits on a response
+ * before issuing the next request.
+ */
+interface LoadTarget extends AutoCloseable {
+
+    enum Operation {
+        /** Full employee read. */
+        GET,
+        /** Read projected to id, name and salary. */
+        PROJECTED,
+        /** Create a new employee. */
+        ADD
+    }
+
+    CompletableFuture<?> get(int id, boolean projected);
+
+    /** Completes with the id assigned to the new employee. */
+    CompletableFuture<Integer> add(Employee employee);
+
+    @Override
+    void close();
+
+    static LoadTarget create(LoadOptions options) {
+        return switch (options.target()) {
+            case "grpc" -> new HttpLoadTarget(options.serviceA(), "/grpc");
+            case "rest" -> new HttpLoadTarget(options.serviceA(), "/rest");
+            case "stub" -> new StubLoadTarget(options.serviceB());
+            default -> throw new IllegalArgumentException("Unknown target: " + options.target()
+                    + " (expected grpc, rest or stub)");
+        };
+    }
+}
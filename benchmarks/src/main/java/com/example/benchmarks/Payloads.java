@@ -0,0 +1,51 @@
+package com.example.benchmarks;
+
+import com.example.Department;
+import com.example.Employee;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import org.example.serviceb.api.DepartmentDto;
+import org.example.serviceb.api.EmployeeDto;
+
+import java.util.Random;
+
+/**
+ * Builds employees of a controlled size so every suite measures the same payload shapes.
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    static Employee employee(int pictureBytes, int departments, int addresses) {
+        byte[] picture = new byte[pictureBytes];
+        // Random bytes, like a compressed image, so compression can't flatter the numbers
+        new Random(42).nextBytes(picture);
+
+        Employee.Builder builder = Employee.newBuilder()
+                .setName("Benchmark Employee")
+                .setSalary(95000.0)
+                .setIsActive(true)
+                .setProfilePicture(ByteString.copyFrom(picture))
+                .setJoinDate(Timestamp.newBuilder().setSeconds(1_700_000_000L).build());
+        for (int i = 0; i < departments; i++) {
+            builder.addDepartments(Department.newBuilder().setId(i).setName("Department-" + i).build());
+        }
+        for (int i = 0; i < addresses; i++) {
+            builder.putAddressMap("key-" + i, "value-" + i);
+        }
+        return builder.build();
+    }
+
+    // Mirrors EmployeeRestController's mapping; EmployeeDto has no picture field
+    static EmployeeDto toDto(Employee e) {
+        return new EmployeeDto(
+                e.getId(),
+                e.getName(),
+                e.getSalary(),
+                e.getDepartmentsList().stream().map(d -> new DepartmentDto(d.getId(), d.getName())).toList(),
+                e.getAddressMapMap(),
+                e.getIsActive()
+        );
+    }
+}
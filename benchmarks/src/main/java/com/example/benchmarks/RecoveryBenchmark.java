@@ -0,0 +1,99 @@
+package com.example.benchmarks;
+
+import com.example.Department;
+import com.example.Employee;
+import org.example.serviceb.repository.DurableEmployeeRepository;
+import org.example.serviceb.repository.EmployeeStoreProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup cost of DurableEmployeeRepository: time to rebuild the index from a compacted
+ * snapshot versus replaying the whole append-only log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RecoveryBenchmark {
+
+    @Param({"1000000"})
+    public int employees;
+
+    @Param({"true", "false"})
+    public boolean fromSnapshot;
+
+    private Path directory;
+    private EmployeeStoreProperties properties;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("employee-recovery");
+        properties = new EmployeeStoreProperties();
+        properties.setType(EmployeeStoreProperties.Type.DURABLE);
+        properties.setDirectory(directory);
+        properties.setFsync(false);
+        properties.setSnapshotInterval(Duration.ZERO);
+        properties.setSnapshotOnClose(false);
+
+        try (DurableEmployeeRepository repository = new DurableEmployeeRepository(properties)) {
+            List<Employee> batch = new ArrayList<>(10_000);
+            for (int i = 0; i < employees; i++) {
+                batch.add(Employee.newBuilder()
+                        .setName("Employee " + i)
+                        .setSalary(50_000 + i % 50_000)
+                        .setIsActive(i % 3 != 0)
+                        .addDepartments(Department.newBuilder().setId(i % 20).setName("Department-" + i % 20))
+                        .putAddressMap("city", "City-" + i % 100)
+                        .build());
+                if (batch.size() == 10_000) {
+                    repository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+            repository.saveAll(batch);
+            if (fromSnapshot) {
+                repository.snapshot();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int recover() throws IOException {
+        try (DurableEmployeeRepository repository = new DurableEmployeeRepository(properties)) {
+            return repository.size();
+        }
+    }
+}
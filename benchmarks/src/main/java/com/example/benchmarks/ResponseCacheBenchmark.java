@@ -0,0 +1,94 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.EmployeeList;
+import io.grpc.Drainable;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import org.example.serviceb.grpc.EmployeeResponseCache;
+import org.example.serviceb.grpc.ResponseCacheProperties;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side cost of writing a getEmployee ({@code employees=1}) or getAllEmployees response:
+ * the default protobuf marshaller re-encoding the stored records versus EmployeeResponseCache
+ * draining their cached bytes. The drain target stands in for the transport's write buffer.
+ * Run with {@code -prof gc} for the allocation rate per response alongside the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseCacheBenchmark {
+
+    @Param({"0", "65536"})
+    public int pictureBytes;
+
+    @Param({"1", "1000"})
+    public int employees;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private final OutputStream transport = OutputStream.nullOutputStream();
+
+    private MethodDescriptor.Marshaller<Employee> employeeMarshaller;
+    private MethodDescriptor.Marshaller<EmployeeList> listMarshaller;
+    private Employee employee;
+    private EmployeeList list;
+
+    @Setup
+    public void setUp() throws IOException {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        Employee template = Payloads.employee(pictureBytes, 3, 5);
+        List<Employee> batch = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            batch.add(template);
+        }
+        List<Employee> stored = repository.saveAll(batch);
+        employee = stored.getFirst();
+        list = EmployeeList.newBuilder().addAllEmployees(stored).build();
+
+        if (cached) {
+            EmployeeResponseCache cache = new EmployeeResponseCache(repository, new ResponseCacheProperties());
+            employeeMarshaller = cache.employeeMarshaller();
+            listMarshaller = cache.employeeListMarshaller();
+            // Fill the cache, as the first response for each record would
+            drain(listMarshaller.stream(list));
+        } else {
+            employeeMarshaller = ProtoUtils.marshaller(Employee.getDefaultInstance());
+            listMarshaller = ProtoUtils.marshaller(EmployeeList.getDefaultInstance());
+        }
+    }
+
+    @Benchmark
+    public int writeResponse() throws IOException {
+        return employees == 1
+                ? drain(employeeMarshaller.stream(employee))
+                : drain(listMarshaller.stream(list));
+    }
+
+    private int drain(InputStream stream) throws IOException {
+        return ((Drainable) stream).drainTo(transport);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.benchmarks;
+
+import com.example.Department;
+import com.example.Employee;
+import org.example.serviceb.repository.EmployeeQuery;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of searchEmployees answered from the secondary indexes versus filtering a full
+ * {@code iterateAfter(0)} scan, which is what a client had to do before the RPC existed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int employees;
+
+    /** department: one of 200 departments; prefix: names starting "employee 12"; salary: a 1% band. */
+    @Param({"department", "prefix", "salary"})
+    public String filter;
+
+    private InMemoryEmployeeRepository repository;
+    private EmployeeQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryEmployeeRepository();
+        List<Employee> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < employees; i++) {
+            batch.add(Employee.newBuilder()
+                    .setName("Employee " + i)
+                    .setSalary(50_000 + i % 50_000)
+                    .setIsActive(i % 3 != 0)
+                    .addDepartments(Department.newBuilder().setId(i % 200).setName("Department-" + i % 200))
+                    .build());
+            if (batch.size() == 10_000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+
+        query = switch (filter) {
+            case "department" -> new EmployeeQuery(17, true, null, null, null, EmployeeQuery.Sort.SALARY_DESC, null, 100);
+            case "prefix" -> new EmployeeQuery(null, null, null, null, "employee 12", EmployeeQuery.Sort.NAME, null, 100);
+            case "salary" -> new EmployeeQuery(null, null, 60_000.0, 60_499.0, null, EmployeeQuery.Sort.ID, null, 100);
+            default -> throw new IllegalArgumentException("Unknown filter: " + filter);
+        };
+    }
+
+    @Benchmark
+    public List<Employee> index() {
+        return repository.search(query).employees();
+    }
+
+    @Benchmark
+    public List<Employee> scan() {
+        List<Employee> matches = new ArrayList<>();
+        Iterator<Employee> it = repository.iterateAfter(0);
+        while (it.hasNext()) {
+            Employee employee = it.next();
+            if (query.matches(employee)) {
+                matches.add(employee);
+            }
+        }
+        matches.sort(query.sort().comparator());
+        return matches.subList(0, Math.min(100, matches.size()));
+    }
+}
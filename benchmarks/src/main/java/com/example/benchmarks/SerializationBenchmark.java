@@ -0,0 +1,100 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.servicea.config.ProtobufHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import org.example.serviceb.api.EmployeeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of one employee in each wire format the project uses:
+ * protobuf binary (gRPC), protobuf JSON (ProtobufHttpMessageConverter) and Jackson over EmployeeDto (service-b REST).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"0", "65536", "1048576"})
+    public int pictureBytes;
+
+    @Param({"1", "100"})
+    public int departments;
+
+    @Param({"2", "100"})
+    public int addresses;
+
+    private final ProtobufHttpMessageConverter converter = new ProtobufHttpMessageConverter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Employee employee;
+    private EmployeeDto dto;
+    private byte[] binary;
+    private byte[] protobufJson;
+    private byte[] jacksonJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        employee = Payloads.employee(pictureBytes, departments, addresses);
+        dto = Payloads.toDto(employee);
+        binary = employee.toByteArray();
+        protobufJson = writeProtobufJson().toByteArray();
+        jacksonJson = objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] protobufBinaryWrite() {
+        return employee.toByteArray();
+    }
+
+    @Benchmark
+    public Employee protobufBinaryRead() throws InvalidProtocolBufferException {
+        return Employee.parseFrom(binary);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream protobufJsonWrite() throws IOException {
+        return writeProtobufJson();
+    }
+
+    @Benchmark
+    public Message protobufJsonRead() throws IOException {
+        return converter.read(Employee.class, new BufferInputMessage(protobufJson));
+    }
+
+    @Benchmark
+    public byte[] jacksonDtoWrite() throws IOException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public EmployeeDto jacksonDtoRead() throws IOException {
+        return objectMapper.readValue(jacksonJson, EmployeeDto.class);
+    }
+
+    private ByteArrayOutputStream writeProtobufJson() throws IOException {
+        BufferOutputMessage out = new BufferOutputMessage();
+        converter.write(employee, MediaType.APPLICATION_JSON, out);
+        return out.body;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.example.common.grpc.WireCapture;
+import com.example.common.grpc.WireCaptureProperties;
+import com.example.common.tracing.Tracer;
+import com.example.common.tracing.TracingProperties;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.serviceb.grpc.CompressionProperties;
+import org.example.serviceb.grpc.CompressionServerInterceptor;
+import org.example.serviceb.grpc.ConcurrencyLimitProperties;
+import org.example.serviceb.grpc.ConcurrencyLimitServerInterceptor;
+import org.example.serviceb.grpc.EmployeeResponseCache;
+import org.example.serviceb.grpc.EmployeeServiceImpl;
+import org.example.serviceb.grpc.GrpcServer;
+import org.example.serviceb.grpc.GrpcServerProperties;
+import org.example.serviceb.grpc.MetricsServerInterceptor;
+import org.example.serviceb.grpc.ResponseCacheProperties;
+import org.example.serviceb.grpc.TracingServerInterceptor;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * getEmployee calls per second through service-b's GrpcServer over Netty on a loopback socket,
+ * once per {@code grpc.server.executor} type, with {@code concurrency} calls outstanding from one
+ * async stub. The concurrency limiter is disabled so the executor alone decides how calls are
+ * dispatched; the rest of the server interceptor chain runs with its defaults.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerExecutorBenchmark {
+
+    private static final int CALLS = 1_000;
+
+    @Param({"DEFAULT", "FIXED", "FORK_JOIN", "VIRTUAL", "DIRECT"})
+    public GrpcServerProperties.ExecutorType executor;
+
+    @Param({"64"})
+    public int concurrency;
+
+    private GrpcServer server;
+    private ManagedChannel channel;
+    private EmployeeServiceGrpc.EmployeeServiceStub stub;
+    private GetEmployeeRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        int id = repository.save(Payloads.employee(0, 1, 2)).getId();
+
+        GrpcServerProperties properties = new GrpcServerProperties();
+        properties.setPort(0);
+        properties.setExecutor(executor);
+        ConcurrencyLimitProperties limit = new ConcurrencyLimitProperties();
+        limit.setEnabled(false);
+        server = new GrpcServer(properties,
+                new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1 << 20)),
+                new WireCapture(new WireCaptureProperties()),
+                new MetricsServerInterceptor(new SimpleMeterRegistry()),
+                new ConcurrencyLimitServerInterceptor(limit, new SimpleMeterRegistry()),
+                new EmployeeResponseCache(repository, new ResponseCacheProperties()),
+                new TracingServerInterceptor(new Tracer(new TracingProperties(), "service-b")),
+                new CompressionServerInterceptor(new CompressionProperties()));
+        server.start();
+        channel = NettyChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .build();
+        stub = EmployeeServiceGrpc.newStub(channel);
+        request = GetEmployeeRequest.newBuilder().setId(id).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.shutdownNow();
+        server.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public int getEmployee() throws InterruptedException {
+        Semaphore window = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(CALLS);
+        AtomicInteger ok = new AtomicInteger();
+        for (int i = 0; i < CALLS; i++) {
+            window.acquire();
+            stub.getEmployee(request, new StreamObserver<>() {
+                @Override
+                public void onNext(Employee value) {
+                    ok.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    window.release();
+                    done.countDown();
+                }
+
+                @Override
+                public void onCompleted() {
+                    window.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        if (ok.get() != CALLS) {
+            throw new IllegalStateException((CALLS - ok.get()) + " of " + CALLS + " calls failed");
+        }
+        return ok.get();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.google.protobuf.FieldMask;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls service-b's gRPC server directly, bypassing service-a, to isolate the server's own capacity.
+ */
+final class StubLoadTarget implements LoadTarget {
+
+    private static final FieldMask PROJECTION = FieldMask.newBuilder()
+            .addPaths("id").addPaths("name").addPaths("salary")
+            .build();
+
+    private final ManagedChannel channel;
+    private final EmployeeServiceGrpc.EmployeeServiceStub stub;
+
+    StubLoadTarget(String address) {
+        this.channel = NettyChannelBuilder.forTarget(address).usePlaintext().build();
+        this.stub = EmployeeServiceGrpc.newStub(channel);
+    }
+
+    @Override
+    public CompletableFuture<?> get(int id, boolean projected) {
+        GetEmployeeRequest.Builder request = GetEmployeeRequest.newBuilder().setId(id);
+        if (projected) {
+            request.setReadMask(PROJECTION);
+        }
+        Unary<Employee> future = new Unary<>();
+        stub.getEmployee(request.build(), future);
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Integer> add(Employee employee) {
+        Unary<Employee> future = new Unary<>();
+        stub.addEmployee(employee, future);
+        return future.thenApply(Employee::getId);
+    }
+
+    @Override
+    public void close() {
+        channel.shutdownNow();
+    }
+
+    private static final class Unary<T> extends CompletableFuture<T> implements StreamObserver<T> {
+        @Override
+        public void onNext(T value) {
+            complete(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
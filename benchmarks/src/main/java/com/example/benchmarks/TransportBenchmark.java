@@ -0,0 +1,90 @@
+package com.example.benchmarks;
+
+import com.example.Employee;
+import com.example.servicea.EmployeeGrpcClient;
+import com.example.servicea.HelloClient;
+import com.example.servicea.ServiceAApplication;
+import org.example.serviceb.ServiceBApplication;
+import org.example.serviceb.grpc.GrpcServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Both services started in this JVM, with service-a calling service-b over Netty on a loopback
+ * socket or over the in-process transport. Everything else is identical, including the client
+ * and server interceptor chains, so the difference is the cost of the network transport itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"netty", "in-process"})
+    public String transport;
+
+    private ConfigurableApplicationContext serviceB;
+    private ConfigurableApplicationContext serviceA;
+    private EmployeeGrpcClient employeeClient;
+    private HelloClient helloClient;
+    private int employeeId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean inProcess = transport.equals("in-process");
+        String name = "service-b-bench";
+        // Command-line arguments outrank both services' application files, which share the classpath here
+        serviceB = new SpringApplicationBuilder(ServiceBApplication.class).run(
+                "--spring.application.name=service-b",
+                "--server.port=0",
+                "--grpc.server.port=0",
+                "--grpc.server.transport=" + transport,
+                "--grpc.server.in-process-name=" + name,
+                "--grpc.server.concurrency-limit.enabled=false");
+        String address = inProcess
+                ? "in-process:" + name
+                : "static://localhost:" + serviceB.getBean(GrpcServer.class).getPort();
+        serviceA = new SpringApplicationBuilder(ServiceAApplication.class).run(
+                "--spring.application.name=service-a",
+                "--server.port=0",
+                "--grpc.client.service-b-grpc.address=" + address,
+                "--grpc.client.service-b-grpc.batch-enabled=false",
+                "--employee.cache.enabled=false");
+        employeeClient = serviceA.getBean(EmployeeGrpcClient.class);
+        helloClient = serviceA.getBean(HelloClient.class);
+        employeeId = employeeClient.addEmployee(Payloads.employee(0, 1, 2)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serviceA.close();
+        serviceB.close();
+    }
+
+    @Benchmark
+    public Employee getEmployee() {
+        return employeeClient.getEmployee(employeeId);
+    }
+
+    @Benchmark
+    public String sayHello() {
+        return helloClient.sayHelloGrpc("bench");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.common.grpc;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.MethodDescriptor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Sampled, size-capped capture of serialized gRPC payloads for the logging interceptors.
+ * Interceptors check {@link #isEnabled(String)} once per call and skip wrapping entirely when it
+ * returns false, so disabled capture costs nothing on the hot path.
+ *
+ * <p>Scratch buffers come from a small shared pool rather than a ThreadLocal: with
+ * {@code grpc.server.executor=virtual} every call runs on a new thread, so a per-thread buffer
+ * would be allocated for each capture and never reused.
+ */
+public class WireCapture implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(WireCapture.class.getName());
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final Set<String> methods;
+    private final int maxBytes;
+    private final WireCaptureRing ring;
+    private final BlockingQueue<Buffers> buffers =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    /** Scratch space for one capture; hex is only needed when encoding on the calling thread. */
+    private record Buffers(byte[] payload, char[] hex) {
+    }
+
+    public WireCapture(WireCaptureProperties properties) {
+        this.enabled = properties.isEnabled() && properties.getSampleRate() > 0;
+        this.sampleRate = properties.getSampleRate();
+        this.methods = Set.copyOf(properties.getMethods());
+        this.maxBytes = Math.max(1, properties.getMaxBytes());
+        this.ring = enabled && properties.getMode() == WireCaptureProperties.Mode.RING_BUFFER
+                ? new WireCaptureRing(properties.getRingBufferSize(), maxBytes)
+                : null;
+    }
+
+    public boolean isEnabled(String fullMethodName) {
+        return enabled && (methods.isEmpty() || methods.contains(fullMethodName));
+    }
+
+    public boolean sample() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public <T> void capture(String label, String fullMethodName, MethodDescriptor.Marshaller<T> marshaller, T message) {
+        Buffers scratch = buffers.poll();
+        if (scratch == null) {
+            scratch = new Buffers(new byte[maxBytes], new char[ring == null ? maxBytes * 3 : 0]);
+        }
+        try {
+            byte[] payload = scratch.payload();
+            int length;
+            try (InputStream in = marshaller.stream(message)) {
+                length = in.readNBytes(payload, 0, maxBytes);
+            } catch (IOException e) {
+                log.warning("Failed to capture " + label + " bytes for " + fullMethodName + ": " + e.getMessage());
+                return;
+            }
+            int totalSize = message instanceof MessageLite ml ? ml.getSerializedSize() : length;
+
+            if (ring != null) {
+                ring.publish(label, fullMethodName, payload, length, totalSize);
+            } else {
+                log.info(format(label, fullMethodName, payload, length, totalSize, scratch.hex()));
+            }
+        } finally {
+            // Dropped when the pool is full, e.g. after a burst of concurrent captures
+            buffers.offer(scratch);
+        }
+    }
+
+    static String format(String label, String fullMethodName, byte[] payload, int length, int totalSize, char[] hex) {
+        return label + " " + fullMethodName + " [" + length + "/" + totalSize + " bytes] (hex): "
+                + new String(hex, 0, encodeHex(payload, length, hex));
+    }
+
+    /**
+     * Writes {@code length} bytes of {@code src} into {@code dst} as space-separated hex pairs
+     * and returns the number of chars written.
+     */
+    static int encodeHex(byte[] src, int length, char[] dst) {
+        int pos = 0;
+        for (int i = 0; i < length; i++) {
+            int b = src[i] & 0xFF;
+            if (i > 0) {
+                dst[pos++] = ' ';
+            }
+            dst[pos++] = HEX_DIGITS[b >>> 4];
+            dst[pos++] = HEX_DIGITS[b & 0x0F];
+        }
+        return pos;
+    }
+
+    @Override
+    public void close() {
+        if (ring != null) {
+            ring.close();
+        }
+    }
+}
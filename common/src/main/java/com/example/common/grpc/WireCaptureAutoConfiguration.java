@@ -0,0 +1,19 @@
+package com.example.common.grpc;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * The {@link WireCapture} behind both services' logging interceptors, configured from
+ * {@code grpc.wire-capture}. Capture is off unless {@code grpc.wire-capture.enabled} is set.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(WireCaptureProperties.class)
+public class WireCaptureAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public WireCapture wireCapture(WireCaptureProperties properties) {
+        return new WireCapture(properties);
+    }
+}
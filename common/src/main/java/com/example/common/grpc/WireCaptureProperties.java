@@ -0,0 +1,76 @@
+package com.example.common.grpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Controls which gRPC payloads the logging interceptor captures, bound from {@code grpc.wire-capture}.
+ */
+@ConfigurationProperties(prefix = "grpc.wire-capture")
+public class WireCaptureProperties {
+
+    public enum Mode {
+        /** Hex-encode on the calling thread and write to the logger. */
+        LOG,
+        /** Copy into a ring buffer; a background thread hex-encodes and logs. */
+        RING_BUFFER
+    }
+
+    private boolean enabled = false;
+    private double sampleRate = 1.0;
+    /** Full method names, e.g. {@code com.example.EmployeeService/getEmployee}. Empty means all methods. */
+    private Set<String> methods = new HashSet<>();
+    private int maxBytes = 256;
+    private Mode mode = Mode.LOG;
+    private int ringBufferSize = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Set<String> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(Set<String> methods) {
+        this.methods = methods;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.common.grpc;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Fixed-size, overwrite-oldest ring of captured payloads. Producers copy into preallocated slots
+ * and never block; a single daemon thread hex-encodes and logs whatever it can read consistently.
+ * Captures overwritten before the drainer reaches them are counted as dropped.
+ * <p>
+ * Each slot is a seqlock. A producer claims its slot by CAS on {@code sequence}, so two producers
+ * a lap apart never write the same slot at once; one that finds the slot taken drops its capture
+ * and records that in {@code skipped}, so the drainer does not wait for it. The drainer copies the
+ * fields, then re-reads {@code sequence} behind an acquire fence and discards the copy if a
+ * producer claimed the slot in the meantime.
+ */
+class WireCaptureRing implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(WireCaptureRing.class.getName());
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long EMPTY = -1;
+    private static final long BUSY = -2;
+    private static final VarHandle SEQUENCE;
+    private static final VarHandle SKIPPED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SEQUENCE = lookup.findVarHandle(Slot.class, "sequence", long.class);
+            SKIPPED = lookup.findVarHandle(Slot.class, "skipped", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Slot {
+        // Sequence of the complete capture held, EMPTY before the first, BUSY while a producer owns it
+        volatile long sequence = EMPTY;
+        // Highest sequence whose producer found the slot taken and gave up
+        volatile long skipped = EMPTY;
+        String label;
+        String method;
+        int length;
+        int totalSize;
+        final byte[] payload;
+
+        Slot(int maxBytes) {
+            this.payload = new byte[maxBytes];
+        }
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Thread drainer;
+    private final LongAdder skippedByProducers = new LongAdder();
+    private volatile boolean running = true;
+    private long dropped;
+
+    WireCaptureRing(int requestedSize, int maxBytes) {
+        int size = Integer.highestOneBit(Math.max(2, requestedSize - 1)) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(maxBytes);
+        }
+        this.mask = size - 1;
+        this.drainer = Thread.ofPlatform().daemon().name("wire-capture-drainer").start(() -> drain(maxBytes));
+    }
+
+    void publish(String label, String method, byte[] payload, int length, int totalSize) {
+        long sequence = cursor.getAndIncrement();
+        Slot slot = slots[(int) (sequence & mask)];
+        long held = slot.sequence;
+        // Taken by a producer a lap behind that is still writing, or already by one a lap ahead
+        if (held == BUSY || held > sequence || !SEQUENCE.compareAndSet(slot, held, BUSY)) {
+            skippedByProducers.increment();
+            long previous;
+            do {
+                previous = slot.skipped;
+            } while (previous < sequence && !SKIPPED.compareAndSet(slot, previous, sequence));
+            return;
+        }
+        // The CAS is a full fence, so none of these writes can be seen before the slot reads BUSY
+        slot.label = label;
+        slot.method = method;
+        slot.length = length;
+        slot.totalSize = totalSize;
+        System.arraycopy(payload, 0, slot.payload, 0, length);
+        slot.sequence = sequence;
+    }
+
+    private void drain(int maxBytes) {
+        byte[] copy = new byte[maxBytes];
+        char[] hex = new char[maxBytes * 3];
+        long next = 0;
+        while (running) {
+            long end = cursor.get();
+            if (end - next > slots.length) {
+                dropped += end - next - slots.length;
+                next = end - slots.length;
+            }
+            for (; next < end; next++) {
+                Slot slot = slots[(int) (next & mask)];
+                long held = slot.sequence;
+                if (held != next) {
+                    long skipped = slot.skipped;
+                    if (skipped == next) {
+                        // Its producer gave up and counted it
+                        continue;
+                    }
+                    if (held > next || skipped > next) {
+                        // Overwritten by a later lap
+                        dropped++;
+                        continue;
+                    }
+                    // Not claimed or not finished yet; try again next round
+                    break;
+                }
+                String label = slot.label;
+                String method = slot.method;
+                int length = slot.length;
+                int totalSize = slot.totalSize;
+                System.arraycopy(slot.payload, 0, copy, 0, length);
+                // Without it the plain reads above could be satisfied after the re-check below
+                VarHandle.acquireFence();
+                if (slot.sequence != next) {
+                    dropped++;
+                    continue;
+                }
+                log.info(WireCapture.format(label, method, copy, length, totalSize, hex));
+            }
+            LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+        }
+        long total = dropped + skippedByProducers.sum();
+        if (total > 0) {
+            log.info("Wire capture ring dropped " + total + " payloads");
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(drainer);
+    }
+}
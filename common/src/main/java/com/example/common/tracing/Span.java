@@ -0,0 +1,128 @@
+package com.example.common.tracing;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One timed operation of a trace, identified like a W3C {@code traceparent}: a 128-bit trace id,
+ * a 64-bit span id and the sampled flag. Unsampled spans still carry ids so the decision is
+ * propagated downstream, but they record nothing and {@link #child} returns the span itself.
+ * <p>
+ * The span of the request being handled is kept in a thread-local, see {@link #current()} and
+ * {@link #makeCurrent()}, so code further down the call stack can attach children without wiring.
+ */
+public final class Span {
+
+    /** Header and metadata key carrying the context between services. */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    private final Tracer tracer;
+    private final long traceIdHigh;
+    private final long traceIdLow;
+    private final long spanId;
+    private final long parentId;
+    private final String name;
+    private final boolean sampled;
+    private final long startNanos;
+
+    Span(Tracer tracer, long traceIdHigh, long traceIdLow, long parentId, String name, boolean sampled,
+         long startNanos) {
+        this.tracer = tracer;
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = nextId();
+        this.parentId = parentId;
+        this.name = name;
+        this.sampled = sampled;
+        this.startNanos = startNanos;
+    }
+
+    /** Span of the request handled by this thread, or null outside of one. */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /** Makes this span current until the returned scope is closed, which restores the previous one. */
+    public Scope makeCurrent() {
+        Span previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> CURRENT.set(previous);
+    }
+
+    public Span child(String name) {
+        return sampled ? new Span(tracer, traceIdHigh, traceIdLow, spanId, name, true, System.nanoTime()) : this;
+    }
+
+    /** Records a finished child phase whose start and end were measured elsewhere. */
+    public void recordChild(String name, long startNanos, long endNanos) {
+        if (sampled) {
+            tracer.record(traceIdHigh, traceIdLow, nextId(), spanId, name, startNanos, endNanos);
+        }
+    }
+
+    public void end() {
+        if (sampled) {
+            tracer.record(traceIdHigh, traceIdLow, spanId, parentId, name, startNanos, System.nanoTime());
+        }
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String traceId() {
+        return HEX.toHexDigits(traceIdHigh) + HEX.toHexDigits(traceIdLow);
+    }
+
+    /** This span as the parent in a W3C {@code traceparent} value. */
+    public String traceparent() {
+        return "00-" + HEX.toHexDigits(traceIdHigh) + HEX.toHexDigits(traceIdLow) + '-'
+                + HEX.toHexDigits(spanId) + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * Starts a span continuing {@code traceparent}, or returns null when it is absent or malformed
+     * and the caller should start a new trace.
+     */
+    static Span continueFrom(Tracer tracer, String traceparent, String name, long startNanos) {
+        if (traceparent == null || traceparent.length() != TRACEPARENT_LENGTH
+                || !traceparent.startsWith("00-") || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        try {
+            long high = Long.parseUnsignedLong(traceparent, 3, 19, 16);
+            long low = Long.parseUnsignedLong(traceparent, 19, 35, 16);
+            long parent = Long.parseUnsignedLong(traceparent, 36, 52, 16);
+            int flags = Integer.parseInt(traceparent, 53, 55, 16);
+            if ((high | low) == 0 || parent == 0) {
+                return null;
+            }
+            return new Span(tracer, high, low, parent, name, (flags & 1) != 0, startNanos);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Span newTrace(Tracer tracer, String name, boolean sampled, long startNanos) {
+        return new Span(tracer, nextId(), nextId(), 0, name, sampled, startNanos);
+    }
+
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /** Restores the previously current span; unlike AutoCloseable it throws nothing. */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
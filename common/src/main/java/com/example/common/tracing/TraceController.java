@@ -0,0 +1,25 @@
+package com.example.common.tracing;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Local export of sampled spans; merge the {@code /traces} of both services by trace id to see both hops.
+ */
+@RestController
+public class TraceController {
+
+    private final Tracer tracer;
+
+    public TraceController(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @GetMapping("/traces")
+    public List<Tracer.SpanData> traces(@RequestParam(required = false) String traceId) {
+        return tracer.recent(traceId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.common.tracing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts the span of each HTTP request, continuing the caller's {@code traceparent} if it sent one,
+ * and makes it current while the request runs. Endpoints returning a CompletableFuture finish on an
+ * async dispatch, so the span is kept in a request attribute, made current again for the dispatch
+ * that writes the response, and ended when the async request completes.
+ */
+@Component
+public class TraceFilter extends OncePerRequestFilter {
+
+    private static final String SPAN_ATTRIBUTE = TraceFilter.class.getName() + ".span";
+
+    private final Tracer tracer;
+
+    public TraceFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !tracer.isEnabled() || uri.startsWith("/traces") || uri.startsWith("/actuator");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span span = (Span) request.getAttribute(SPAN_ATTRIBUTE);
+        boolean initial = span == null;
+        if (initial) {
+            span = tracer.start(request.getMethod() + " " + request.getRequestURI(),
+                    request.getHeader(Span.TRACEPARENT));
+            request.setAttribute(SPAN_ATTRIBUTE, span);
+        }
+        try (Span.Scope scope = span.makeCurrent()) {
+            chain.doFilter(request, response);
+        } finally {
+            if (initial) {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(new EndSpan(span));
+                } else {
+                    span.end();
+                }
+            }
+        }
+    }
+
+    private record EndSpan(Span span) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            span.end();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.common.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Starts spans and keeps the most recent finished ones in a fixed-size, overwrite-oldest ring,
+ * exported by {@link TraceController}. Sampling is decided once per trace at its root; an
+ * unsampled trace costs one span object per hop and records nothing. Recording is an atomic
+ * increment and a slot write, with ids kept as longs until export.
+ */
+@Component
+@EnableConfigurationProperties(TracingProperties.class)
+public class Tracer {
+
+    /** A finished span as exported: hex ids, wall-clock start and duration in microseconds. */
+    public record SpanData(String traceId, String spanId, String parentSpanId, String service, String name,
+                           long startEpochMicros, long durationMicros) {
+    }
+
+    private record Recorded(long traceIdHigh, long traceIdLow, long spanId, long parentId, String name,
+                            long startNanos, long endNanos) {
+    }
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    // Converts System.nanoTime to wall-clock micros, so spans from both services line up
+    private static final long EPOCH_MICROS_AT_ORIGIN = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private static final long NANOS_AT_ORIGIN = System.nanoTime();
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final String service;
+    private final AtomicReferenceArray<Recorded> ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public Tracer(TracingProperties properties, @Value("${spring.application.name:application}") String service) {
+        this.enabled = properties.isEnabled();
+        this.sampleRate = properties.getSampleRate();
+        this.service = service;
+        int size = Integer.highestOneBit(Math.max(2, properties.getRingBufferSize() - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts the local root of a request: a child of {@code traceparent} when the caller sent a
+     * valid one, otherwise a new trace sampled at {@code tracing.sample-rate}.
+     */
+    public Span start(String name, String traceparent) {
+        return start(name, traceparent, System.nanoTime());
+    }
+
+    public Span start(String name, String traceparent, long startNanos) {
+        Span span = enabled ? Span.continueFrom(this, traceparent, name, startNanos) : null;
+        if (span != null) {
+            return span;
+        }
+        boolean sampled = enabled && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        return Span.newTrace(this, name, sampled, startNanos);
+    }
+
+    void record(long traceIdHigh, long traceIdLow, long spanId, long parentId, String name,
+                long startNanos, long endNanos) {
+        long sequence = cursor.getAndIncrement();
+        ring.set((int) (sequence & mask),
+                new Recorded(traceIdHigh, traceIdLow, spanId, parentId, name, startNanos, endNanos));
+    }
+
+    /** Retained spans ordered by start time, only those of {@code traceId} unless it is null. */
+    public List<SpanData> recent(String traceId) {
+        List<SpanData> spans = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Recorded r = ring.get(i);
+            if (r == null) {
+                continue;
+            }
+            String id = HEX.toHexDigits(r.traceIdHigh()) + HEX.toHexDigits(r.traceIdLow());
+            if (traceId != null && !traceId.equalsIgnoreCase(id)) {
+                continue;
+            }
+            spans.add(new SpanData(id, HEX.toHexDigits(r.spanId()),
+                    r.parentId() == 0 ? null : HEX.toHexDigits(r.parentId()),
+                    service, r.name(),
+                    EPOCH_MICROS_AT_ORIGIN + (r.startNanos() - NANOS_AT_ORIGIN) / 1000,
+                    (r.endNanos() - r.startNanos()) / 1000));
+        }
+        spans.sort(Comparator.comparingLong(SpanData::startEpochMicros));
+        return spans;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.common.tracing;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers the tracer, the HTTP filter and {@code GET /traces} in both services, whose component
+ * scans do not reach this package. The gRPC interceptors stay with the service that installs them.
+ */
+@AutoConfiguration
+@Import({Tracer.class, TraceFilter.class, TraceController.class})
+public class TracingAutoConfiguration {
+}
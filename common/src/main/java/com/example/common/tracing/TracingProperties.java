@@ -0,0 +1,40 @@
+package com.example.common.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sampling and retention for {@link Tracer}, bound from {@code tracing}.
+ */
+@ConfigurationProperties(prefix = "tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+    /** Fraction of new traces recorded; requests arriving with a traceparent follow its sampled flag. */
+    private double sampleRate = 0.01;
+    /** Finished spans kept for {@code GET /traces}; rounded up to a power of two. */
+    private int ringBufferSize = 8192;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+}
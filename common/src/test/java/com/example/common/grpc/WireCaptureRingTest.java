@@ -0,0 +1,75 @@
+package com.example.common.grpc;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class WireCaptureRingTest {
+
+    /**
+     * Producers racing on a two-slot ring, each payload filled with one byte value named in its
+     * label: every line the drainer logs must be a single capture, never bytes mixed from two.
+     */
+    @Test
+    void loggedCapturesAreNeverTorn() throws Exception {
+        Logger logger = Logger.getLogger(WireCaptureRing.class.getName());
+        ConcurrentLinkedQueue<String> lines = new ConcurrentLinkedQueue<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                lines.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        logger.addHandler(handler);
+        try (WireCaptureRing ring = new WireCaptureRing(2, 64)) {
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int producer = t;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    byte[] payload = new byte[64];
+                    for (int i = 0; i < 20_000; i++) {
+                        byte value = (byte) (producer * 50 + i % 50);
+                        int length = 1 + i % 64;
+                        Arrays.fill(payload, 0, length, value);
+                        ring.publish("v" + (value & 0xFF), "m", payload, length, length);
+                    }
+                }));
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            // Let the drainer take at least one more pass
+            Thread.sleep(300);
+        } finally {
+            logger.removeHandler(handler);
+        }
+
+        List<String> captures = lines.stream().filter(line -> line.startsWith("v")).toList();
+        assertFalse(captures.isEmpty());
+        for (String line : captures) {
+            int value = Integer.parseInt(line.substring(1, line.indexOf(' ')));
+            int length = Integer.parseInt(line.substring(line.indexOf('[') + 1, line.indexOf('/')));
+            String hex = line.substring(line.indexOf("(hex): ") + 7);
+            String pair = String.format("%02X", value);
+            assertEquals(String.join(" ", Collections.nCopies(length, pair)), hex, line);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.common.grpc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WireCaptureTest {
+
+    @Test
+    void encodesSpaceSeparatedUppercaseHex() {
+        byte[] payload = {0x08, 0x01, (byte) 0xFF, 0x7A};
+        char[] hex = new char[payload.length * 3];
+
+        int written = WireCapture.encodeHex(payload, payload.length, hex);
+
+        assertEquals("08 01 FF 7A", new String(hex, 0, written));
+    }
+
+    @Test
+    void onlyListedMethodsAreEnabled() {
+        WireCaptureProperties properties = new WireCaptureProperties();
+        properties.setEnabled(true);
+        properties.getMethods().add("com.example.EmployeeService/getEmployee");
+
+        try (WireCapture capture = new WireCapture(properties)) {
+            assertTrue(capture.isEnabled("com.example.EmployeeService/getEmployee"));
+            assertFalse(capture.isEnabled("com.example.EmployeeService/getAllEmployees"));
+        }
+    }
+
+    @Test
+    void disabledCaptureEnablesNothing() {
+        try (WireCapture capture = new WireCapture(new WireCaptureProperties())) {
+            assertFalse(capture.isEnabled("com.example.EmployeeService/getEmployee"));
+        }
+    }
+}
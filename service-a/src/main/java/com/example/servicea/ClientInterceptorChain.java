@@ -0,0 +1,32 @@
+package com.example.servicea;
+
+import com.example.common.grpc.WireCapture;
+import com.example.servicea.config.GrpcClientProperties;
+import io.grpc.Channel;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import org.springframework.stereotype.Component;
+
+/**
+ * The interceptors every stub on the service-b channel goes through, kept in one place so the
+ * employee and hello clients cannot drift apart. Whichever transport the channel uses, calls are
+ * wire-captured, compressed, timed and traced the same way.
+ */
+@Component
+public class ClientInterceptorChain {
+
+    private final ClientInterceptor[] interceptors;
+
+    public ClientInterceptorChain(GrpcClientProperties properties, WireCapture wireCapture,
+                                  MetricsClientInterceptor metrics, TracingClientInterceptor tracing) {
+        // Last interceptor runs first, so metrics time the whole call including wire capture,
+        // and tracing hands its timed response marshaller to everything below it
+        this.interceptors = new ClientInterceptor[] {
+                new LoggingClientInterceptor(wireCapture), new CompressionClientInterceptor(properties),
+                metrics, tracing};
+    }
+
+    public Channel intercept(Channel channel) {
+        return ClientInterceptors.intercept(channel, interceptors);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.servicea;
+
+import com.example.common.grpc.Codecs;
+import com.example.servicea.config.GrpcClientProperties;
+import com.google.protobuf.MessageLite;
+import io.grpc.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Client-side counterpart of service-b's CompressionServerInterceptor: requests of the configured
+ * methods are compressed, message by message, once they reach
+ * {@code grpc.client.service-b-grpc.compression-min-size}. Service-b registers the same codecs,
+ * so the encoding needs no negotiation on the request side.
+ */
+class CompressionClientInterceptor implements ClientInterceptor {
+
+    private final String defaultCodec;
+    private final Map<String, String> methodCodecs = new HashMap<>();
+    private final int minSize;
+
+    CompressionClientInterceptor(GrpcClientProperties properties) {
+        // Fail at startup on a misspelt codec rather than on the first call
+        this.defaultCodec = Codecs.forName(properties.getCompression()).getMessageEncoding();
+        properties.getCompressionMethods().forEach((method, codec) ->
+                methodCodecs.put(method, Codecs.forName(codec).getMessageEncoding()));
+        this.minSize = properties.getCompressionMinSize();
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions,
+            Channel next) {
+
+        String codec = methodCodecs.getOrDefault(method.getFullMethodName(), defaultCodec);
+        if (codec.equals(Codecs.IDENTITY)) {
+            return next.newCall(method, callOptions);
+        }
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(
+                next.newCall(method, callOptions.withCompression(codec))) {
+            @Override
+            public void sendMessage(ReqT message) {
+                // Protobuf memoizes the size, so the marshaller does not compute it again
+                setMessageCompression(!(message instanceof MessageLite ml) || ml.getSerializedSize() >= minSize);
+                super.sendMessage(message);
+            }
+        };
+    }
+}
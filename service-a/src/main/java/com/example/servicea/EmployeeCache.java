@@ -0,0 +1,124 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import com.example.EmployeeChangeEvent;
+import com.example.WatchEmployeesRequest;
+import com.example.servicea.config.EmployeeCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.protobuf.FieldMask;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read-through cache in front of {@link EmployeeGrpcClient#getEmployeeAsync(int)}, off by default
+ * so the gRPC and REST paths are compared like for like.
+ * <p>
+ * Caffeine's W-TinyLFU eviction keeps the hot ids resident under skewed traffic, and the async
+ * cache hands concurrent misses for the same id the same in-flight future, so only one RPC is made.
+ * Failed loads are not cached. Hit/miss/eviction counts are published as {@code cache.*} metrics.
+ * <p>
+ * Entries are invalidated from service-b's watchEmployees feed, so writes by any client are seen
+ * before the TTL runs out. When the feed cannot be resumed without a gap, everything is dropped.
+ */
+@Component
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class EmployeeCache {
+
+    private static final Logger log = Logger.getLogger(EmployeeCache.class.getName());
+    // Invalidation only needs the id of the changed employee
+    private static final FieldMask ID_ONLY = FieldMask.newBuilder().addPaths("id").build();
+    private static final long RESUBSCRIBE_DELAY_MILLIS = 1000;
+
+    private final EmployeeGrpcClient client;
+    private final AsyncLoadingCache<Integer, Employee> cache;
+    private final Context.CancellableContext watchContext = Context.ROOT.withCancellation();
+
+    public EmployeeCache(EmployeeGrpcClient client, EmployeeCacheProperties properties, MeterRegistry registry) {
+        this.client = client;
+        if (properties.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .recordStats()
+                    .buildAsync((id, executor) -> client.getEmployeeAsync(id));
+            CaffeineCacheMetrics.monitor(registry, cache, "employees");
+            watch(0, "");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchContext.cancel(null);
+    }
+
+    public CompletableFuture<Employee> get(int id) {
+        return cache == null ? client.getEmployeeAsync(id) : cache.get(id);
+    }
+
+    public void invalidate(int id) {
+        if (cache != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    /** Follows the change feed after {@code afterSequence} of {@code feedId}, or from its head when feedId is empty. */
+    private void watch(long afterSequence, String feedId) {
+        WatchEmployeesRequest request = WatchEmployeesRequest.newBuilder()
+                .setAfterSequence(afterSequence)
+                .setFeedId(feedId)
+                .setReadMask(ID_ONLY)
+                .build();
+        watchContext.run(() -> client.watchEmployees(request, new StreamObserver<>() {
+            private long sequence = afterSequence;
+            private String feed = feedId;
+
+            @Override
+            public void onNext(EmployeeChangeEvent event) {
+                sequence = event.getSequence();
+                feed = event.getFeedId();
+                invalidate(event.getEmployee().getId());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (watchContext.isCancelled()) {
+                    return;
+                }
+                if (feed.isEmpty() || Status.fromThrowable(t).getCode() == Status.Code.OUT_OF_RANGE) {
+                    // Changes may have been missed, or service-b restarted: nothing cached can be trusted
+                    cache.synchronous().invalidateAll();
+                    sequence = 0;
+                    feed = "";
+                }
+                log.log(Level.FINE, "Employee change feed failed, resubscribing", t);
+                resubscribe();
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!watchContext.isCancelled()) {
+                    resubscribe();
+                }
+            }
+
+            private void resubscribe() {
+                CompletableFuture.delayedExecutor(RESUBSCRIBE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                        .execute(() -> watch(sequence, feed));
+            }
+        }));
+    }
+}
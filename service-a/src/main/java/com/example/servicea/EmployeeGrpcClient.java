@@ -1,36 +1,422 @@
 package com.example.servicea;
 
+import com.example.AddEmployeesAck;
+import com.example.AddEmployeesRequest;
+import com.example.BatchGetEmployeesRequest;
+import com.example.DownloadProfilePictureRequest;
 import com.example.Employee;
+import com.example.EmployeeChangeEvent;
 import com.example.EmployeeList;
 import com.example.EmployeeServiceGrpc;
-import com.example.Empty;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.example.EmployeePage;
+import com.example.GetAllEmployeesRequest;
+import com.example.GetEmployeeRequest;
+import com.example.ProfilePictureChunk;
+import com.example.ProfilePictureUploadResult;
+import com.example.StreamEmployeesRequest;
+import com.example.WatchEmployeesRequest;
+import com.example.servicea.config.GrpcClientProperties;
+import com.example.servicea.config.PooledChannel;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Channel;
+import io.grpc.Context;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Component
 public class EmployeeGrpcClient {
 
+    static final int PICTURE_CHUNK_SIZE = 64 * 1024;
+
     private final EmployeeServiceGrpc.EmployeeServiceBlockingStub stub;
+    private final EmployeeServiceGrpc.EmployeeServiceStub asyncStub;
+    private final GetEmployeeBatcher batcher;
 
-    public EmployeeGrpcClient() {
-        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", 9090)
-                .usePlaintext()
-                .intercept(new LoggingClientInterceptor())
-                .build();
+    public EmployeeGrpcClient(PooledChannel serviceBChannel, GrpcClientProperties properties,
+                              ClientInterceptorChain interceptors) {
+        Channel channel = interceptors.intercept(serviceBChannel);
         this.stub = EmployeeServiceGrpc.newBlockingStub(channel);
+        this.asyncStub = EmployeeServiceGrpc.newStub(channel);
+        this.batcher = properties.isBatchEnabled()
+                ? new GetEmployeeBatcher(properties.getBatchMaxSize(), properties.getBatchLinger().toNanos(),
+                        this::batchGetEmployeesAsync)
+                : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
     }
 
     public Employee getEmployee(int id) {
-        Employee request = Employee.newBuilder().setId(id).build();
+        GetEmployeeRequest request = GetEmployeeRequest.newBuilder().setId(id).build();
         return stub.getEmployee(request);
     }
 
+    /** Looks up one employee; coalesced with concurrent lookups into batchGetEmployees when batching is enabled. */
+    public CompletableFuture<Employee> getEmployeeAsync(int id) {
+        if (batcher != null) {
+            return batcher.get(id);
+        }
+        UnaryFuture<Employee> future = new UnaryFuture<>();
+        asyncStub.getEmployee(GetEmployeeRequest.newBuilder().setId(id).build(), future);
+        return future;
+    }
+
+    /** Fetches only the fields in {@code readMask}; bypasses batching since batches share one mask. */
+    public CompletableFuture<Employee> getEmployeeAsync(int id, FieldMask readMask) {
+        UnaryFuture<Employee> future = new UnaryFuture<>();
+        asyncStub.getEmployee(GetEmployeeRequest.newBuilder().setId(id).setReadMask(readMask).build(), future);
+        return future;
+    }
+
+    public CompletableFuture<EmployeeList> batchGetEmployeesAsync(BatchGetEmployeesRequest request) {
+        UnaryFuture<EmployeeList> future = new UnaryFuture<>();
+        asyncStub.batchGetEmployees(request, future);
+        return future;
+    }
+
     public Employee addEmployee(Employee emp) {
         return stub.addEmployee(emp);
     }
 
+    public CompletableFuture<Employee> addEmployeeAsync(Employee emp) {
+        UnaryFuture<Employee> future = new UnaryFuture<>();
+        asyncStub.addEmployee(emp, future);
+        return future;
+    }
+
+    /**
+     * Streams employees to the server in batches of {@code batchSize}, keeping at most
+     * {@code maxInFlightBatches} unacknowledged batches on the wire. Blocks until every
+     * batch is acknowledged and returns the number of employees stored. If the caller is
+     * interrupted or {@code employees} throws, the call is cancelled before the exception
+     * propagates; batches already acknowledged stay stored.
+     */
+    public long addEmployees(Iterator<Employee> employees, int batchSize, int maxInFlightBatches)
+            throws InterruptedException {
+        Semaphore window = new Semaphore(maxInFlightBatches);
+        AtomicLong stored = new AtomicLong();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        StreamObserver<AddEmployeesRequest> requests = asyncStub.addEmployees(new StreamObserver<>() {
+            @Override
+            public void onNext(AddEmployeesAck ack) {
+                stored.addAndGet(ack.getIdsCount());
+                window.release();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.completeExceptionally(t);
+                // Unblock the sender so it can observe the failure
+                window.release(maxInFlightBatches);
+            }
+
+            @Override
+            public void onCompleted() {
+                done.complete(null);
+            }
+        });
+
+        try {
+            AddEmployeesRequest.Builder batch = AddEmployeesRequest.newBuilder();
+            while (employees.hasNext() && !done.isDone()) {
+                batch.addEmployees(employees.next());
+                if (batch.getEmployeesCount() >= batchSize || !employees.hasNext()) {
+                    window.acquire();
+                    if (done.isDone()) {
+                        break;
+                    }
+                    requests.onNext(batch.build());
+                    batch = AddEmployeesRequest.newBuilder();
+                }
+            }
+            if (!done.isDone()) {
+                requests.onCompleted();
+            }
+            done.get();
+        } catch (InterruptedException | RuntimeException e) {
+            // Otherwise the stream stays open on both sides with nobody left to finish it
+            ((ClientCallStreamObserver<AddEmployeesRequest>) requests).cancel("addEmployees abandoned by the caller", e);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return stored.get();
+    }
+
+    /**
+     * Uploads a profile picture from {@code picture} in fixed-size chunks, sending only while the
+     * transport is ready so the picture is never buffered whole. Returns the stored size.
+     */
+    public long uploadProfilePicture(int employeeId, InputStream picture) throws IOException, InterruptedException {
+        Object readiness = new Object();
+        CompletableFuture<ProfilePictureUploadResult> result = new CompletableFuture<>();
+
+        ClientResponseObserver<ProfilePictureChunk, ProfilePictureUploadResult> responses =
+                new ClientResponseObserver<>() {
+            @Override
+            public void beforeStart(ClientCallStreamObserver<ProfilePictureChunk> requestStream) {
+                requestStream.setOnReadyHandler(() -> {
+                    synchronized (readiness) {
+                        readiness.notifyAll();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(ProfilePictureUploadResult value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+                synchronized (readiness) {
+                    readiness.notifyAll();
+                }
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+        ClientCallStreamObserver<ProfilePictureChunk> requests =
+                (ClientCallStreamObserver<ProfilePictureChunk>) asyncStub.uploadProfilePicture(responses);
+
+        try {
+            boolean first = true;
+            while (!result.isDone()) {
+                byte[] buffer = new byte[PICTURE_CHUNK_SIZE];
+                int n = picture.readNBytes(buffer, 0, PICTURE_CHUNK_SIZE);
+                if (n == 0 && !first) {
+                    break;
+                }
+                synchronized (readiness) {
+                    while (!requests.isReady() && !result.isDone()) {
+                        // Timed wait guards against a readiness signal racing the check
+                        readiness.wait(100);
+                    }
+                }
+                if (result.isDone()) {
+                    break;
+                }
+                // Fresh buffer per chunk, so the ByteString can wrap it without a copy
+                requests.onNext(ProfilePictureChunk.newBuilder()
+                        .setEmployeeId(employeeId)
+                        .setData(UnsafeByteOperations.unsafeWrap(buffer, 0, n))
+                        .build());
+                first = false;
+                if (n < PICTURE_CHUNK_SIZE) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            requests.cancel("Failed to read profile picture", e);
+            throw e;
+        }
+        if (!result.isDone()) {
+            requests.onCompleted();
+        }
+
+        try {
+            return result.get().getSize();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Opens the employee's profile picture as a stream. Chunks are pulled from the server as the
+     * stream is read; closing it early cancels the download.
+     */
+    public InputStream downloadProfilePicture(int employeeId) {
+        Context.CancellableContext context = Context.current().withCancellation();
+        DownloadProfilePictureRequest request = DownloadProfilePictureRequest.newBuilder()
+                .setEmployeeId(employeeId)
+                .setChunkSize(PICTURE_CHUNK_SIZE)
+                .build();
+        Iterator<ProfilePictureChunk> chunks;
+        // The blocking iterator binds to the current context, which is what close() cancels
+        Context previous = context.attach();
+        try {
+            chunks = stub.downloadProfilePicture(request);
+        } finally {
+            context.detach(previous);
+        }
+        return new ChunkInputStream(chunks, context);
+    }
+
+    private static final class ChunkInputStream extends InputStream {
+        private final Iterator<ProfilePictureChunk> chunks;
+        private final Context.CancellableContext context;
+        private InputStream current = InputStream.nullInputStream();
+
+        ChunkInputStream(Iterator<ProfilePictureChunk> chunks, Context.CancellableContext context) {
+            this.chunks = chunks;
+            this.context = context;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            try {
+                while (true) {
+                    int n = current.read(b, off, len);
+                    if (n > 0) {
+                        return n;
+                    }
+                    if (!chunks.hasNext()) {
+                        return -1;
+                    }
+                    current = chunks.next().getData().newInput();
+                }
+            } catch (StatusRuntimeException e) {
+                throw new IOException(e.getStatus().toString(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            context.cancel(null);
+        }
+    }
+
+    /**
+     * Subscribes {@code observer} to service-b's change feed. The call lives until the server ends it
+     * or the Context current at subscription is cancelled.
+     */
+    public void watchEmployees(WatchEmployeesRequest request, StreamObserver<EmployeeChangeEvent> observer) {
+        asyncStub.watchEmployees(request, observer);
+    }
+
     public EmployeeList getAllEmployees() {
-        return stub.getAllEmployees(Empty.newBuilder().build());
+        return stub.getAllEmployees(GetAllEmployeesRequest.getDefaultInstance());
+    }
+
+    public CompletableFuture<EmployeeList> getAllEmployeesAsync() {
+        UnaryFuture<EmployeeList> future = new UnaryFuture<>();
+        asyncStub.getAllEmployees(GetAllEmployeesRequest.getDefaultInstance(), future);
+        return future;
+    }
+
+    /**
+     * Lazily iterates over all employees, pulling one page at a time from the server stream.
+     * Only the current page is held in memory, so this is safe for arbitrarily large datasets.
+     */
+    public EmployeeStream streamEmployees(int pageSize) {
+        return streamEmployees(pageSize, "");
+    }
+
+    /** Continues a stream after the page {@code resumeToken} was taken from; see {@link EmployeeStream#resumeToken()}. */
+    public EmployeeStream streamEmployees(int pageSize, String resumeToken) {
+        Context.CancellableContext context = Context.current().withCancellation();
+        StreamEmployeesRequest request = StreamEmployeesRequest.newBuilder()
+                .setPageSize(pageSize)
+                .setResumeToken(resumeToken)
+                .build();
+        Iterator<EmployeePage> pages;
+        // As in downloadProfilePicture: the call binds to this context, which close() cancels
+        Context previous = context.attach();
+        try {
+            pages = stub.streamEmployees(request);
+        } finally {
+            context.detach(previous);
+        }
+        return new EmployeeStream(pages, context, resumeToken);
+    }
+
+    /**
+     * Employees from {@link #streamEmployees}. Closing it before the end cancels the call, so a
+     * caller that stops early does not leave service-b writing pages nobody reads.
+     */
+    public static final class EmployeeStream implements Iterator<Employee>, AutoCloseable {
+        private final Iterator<EmployeePage> pages;
+        private final Context.CancellableContext context;
+        private Iterator<Employee> current = Collections.emptyIterator();
+        private String pageToken;
+        private String resumeToken;
+
+        private EmployeeStream(Iterator<EmployeePage> pages, Context.CancellableContext context, String resumeToken) {
+            this.pages = pages;
+            this.context = context;
+            this.pageToken = resumeToken;
+            this.resumeToken = resumeToken;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (!pages.hasNext()) {
+                    context.cancel(null);
+                    return false;
+                }
+                EmployeePage page = pages.next();
+                current = page.getEmployeesList().iterator();
+                pageToken = page.getNextResumeToken();
+                if (!current.hasNext()) {
+                    resumeToken = pageToken;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Employee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Employee employee = current.next();
+            if (!current.hasNext()) {
+                resumeToken = pageToken;
+            }
+            return employee;
+        }
+
+        /**
+         * Position after the last page {@link #next()} has returned in full. Passing it to
+         * {@link #streamEmployees(int, String)} continues with the following page, so employees
+         * already returned from a partly read page are sent again.
+         */
+        public String resumeToken() {
+            return resumeToken;
+        }
+
+        @Override
+        public void close() {
+            context.cancel(null);
+        }
     }
-}
\ No newline at end of file
+}
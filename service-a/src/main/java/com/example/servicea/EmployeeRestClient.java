@@ -0,0 +1,349 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import com.example.common.tracing.Span;
+import com.example.servicea.config.ProtobufHttpMessageConverter;
+import com.example.servicea.config.RestClientProperties;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * REST counterpart of {@link EmployeeGrpcClient}, so the /rest endpoints measure the protocol and
+ * not connection setup. Connections are pooled and kept alive, bounded per route, and every
+ * phase has a timeout.
+ * <p>
+ * The blocking mode uses a {@link RestTemplate}, so calls show up in {@code http.client.requests}.
+ * Over HTTP/1.1 it runs on a pooled Apache HttpClient; with {@code http2} it uses the JDK client,
+ * which upgrades to h2c and multiplexes on one connection. The async mode uses Apache's
+ * non-blocking client, speaking HTTP/1.1 from the same kind of pool or h2c with prior knowledge.
+ */
+@Component
+@EnableConfigurationProperties(RestClientProperties.class)
+public class EmployeeRestClient {
+
+    private static final JsonFormat.Printer PRINTER =
+            JsonFormat.printer().alwaysPrintFieldsWithNoPresence().omittingInsignificantWhitespace();
+    private static final JsonFormat.Parser PARSER = JsonFormat.parser().ignoringUnknownFields();
+
+    private final String baseUrl;
+    private final RestTemplate restTemplate;
+    private final ClientHttpRequestFactory requestFactory;
+    private final CloseableHttpAsyncClient asyncClient;
+    private final boolean compression;
+
+    public EmployeeRestClient(RestClientProperties properties, RestTemplateBuilder restTemplateBuilder) {
+        this.baseUrl = properties.getBaseUrl();
+        this.compression = properties.isCompression();
+        if (properties.isAsync()) {
+            this.requestFactory = null;
+            this.restTemplate = null;
+            this.asyncClient = asyncClient(properties);
+            asyncClient.start();
+        } else {
+            ClientHttpRequestFactory factory = requestFactory(properties);
+            this.requestFactory = factory;
+            this.restTemplate = restTemplateBuilder.requestFactory(() -> factory).build();
+            // Ahead of Jackson so Employee bodies are read and written as protobuf JSON
+            restTemplate.getMessageConverters().add(0, new ProtobufHttpMessageConverter());
+            restTemplate.getInterceptors().add(EmployeeRestClient::trace);
+            if (compression && properties.isHttp2()) {
+                // Apache's classic client negotiates gzip itself; the JDK client leaves it to us
+                restTemplate.getInterceptors().add(EmployeeRestClient::acceptGzip);
+            }
+            this.asyncClient = null;
+        }
+    }
+
+    private static ClientHttpRequestFactory requestFactory(RestClientProperties properties) {
+        if (properties.isHttp2()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.getConnectTimeout())
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client);
+            factory.setReadTimeout(properties.getResponseTimeout());
+            return factory;
+        }
+        HttpClientBuilder builder = HttpClients.custom();
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        CloseableHttpClient client = builder
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(properties.getMaxConnections())
+                        .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                        .setDefaultConnectionConfig(connectionConfig(properties))
+                        .build())
+                .setDefaultRequestConfig(requestConfig(properties))
+                .evictIdleConnections(timeValue(properties.getKeepAlive()))
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(client);
+    }
+
+    private static CloseableHttpAsyncClient asyncClient(RestClientProperties properties) {
+        return HttpAsyncClients.custom()
+                .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(properties.getMaxConnections())
+                        .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                        .setDefaultConnectionConfig(connectionConfig(properties))
+                        // Applies to plain http too: FORCE_HTTP_2 there means h2c with prior knowledge
+                        .setDefaultTlsConfig(TlsConfig.custom()
+                                .setVersionPolicy(properties.isHttp2()
+                                        ? HttpVersionPolicy.FORCE_HTTP_2
+                                        : HttpVersionPolicy.FORCE_HTTP_1)
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(requestConfig(properties))
+                .evictIdleConnections(timeValue(properties.getKeepAlive()))
+                .build();
+    }
+
+    private static ConnectionConfig connectionConfig(RestClientProperties properties) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                .setSocketTimeout(timeout(properties.getResponseTimeout()))
+                .build();
+    }
+
+    private static RequestConfig requestConfig(RestClientProperties properties) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(timeout(properties.getResponseTimeout()))
+                .setConnectionKeepAlive(timeValue(properties.getKeepAlive()))
+                .build();
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        if (asyncClient != null) {
+            asyncClient.close(CloseMode.GRACEFUL);
+        }
+        if (requestFactory instanceof DisposableBean pooled) {
+            // Closes the Apache client and its connection pool
+            pooled.destroy();
+        }
+    }
+
+    /** {@code fields} is passed through as service-b's projection parameter; null returns every field. */
+    public CompletableFuture<Employee> getEmployee(int id, String fields) {
+        String url = baseUrl + "/employee/" + id;
+        if (asyncClient == null) {
+            Employee employee = fields == null || fields.isBlank()
+                    ? restTemplate.getForObject(url, Employee.class)
+                    : restTemplate.getForObject(url + "?fields={fields}", Employee.class, fields);
+            return CompletableFuture.completedFuture(employee);
+        }
+        SimpleRequestBuilder request = SimpleRequestBuilder.get(url)
+                .addHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType());
+        if (fields != null && !fields.isBlank()) {
+            request.addParameter("fields", fields);
+        }
+        return execute(request.build());
+    }
+
+    public CompletableFuture<Employee> addEmployee(Employee employee) {
+        String url = baseUrl + "/employee";
+        if (asyncClient == null) {
+            return CompletableFuture.completedFuture(restTemplate.postForObject(url, employee, Employee.class));
+        }
+        String body;
+        try {
+            body = PRINTER.print(employee);
+        } catch (InvalidProtocolBufferException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return execute(SimpleRequestBuilder.post(url)
+                .addHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType())
+                .setBody(body, ContentType.APPLICATION_JSON)
+                .build());
+    }
+
+    /** Sends the current span's context to service-b and times the exchange as a child span. */
+    private static ClientHttpResponse trace(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Span parent = Span.current();
+        if (parent == null) {
+            return execution.execute(request, body);
+        }
+        Span span = parent.child("http.client " + request.getMethod() + " " + request.getURI().getPath());
+        request.getHeaders().set(Span.TRACEPARENT, span.traceparent());
+        try {
+            return execution.execute(request, body);
+        } finally {
+            span.end();
+        }
+    }
+
+    private static ClientHttpResponse acceptGzip(HttpRequest request, byte[] body,
+                                                 ClientHttpRequestExecution execution) throws IOException {
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ClientHttpResponse response = execution.execute(request, body);
+        return isGzip(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+                ? new GunzippedResponse(response)
+                : response;
+    }
+
+    private static boolean isGzip(String contentEncoding) {
+        return contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip");
+    }
+
+    private CompletableFuture<Employee> execute(SimpleHttpRequest request) {
+        CompletableFuture<Employee> result = new CompletableFuture<>();
+        if (compression) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        Span parent = Span.current();
+        Span span = parent == null ? null : parent.child("http.client " + request.getMethod() + " " + request.getPath());
+        if (span != null) {
+            request.setHeader(Span.TRACEPARENT, span.traceparent());
+        }
+        asyncClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                if (span != null) {
+                    span.end();
+                }
+                byte[] body = response.getBodyBytes() == null ? new byte[0] : response.getBodyBytes();
+                Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+                if (contentEncoding != null && isGzip(contentEncoding.getValue())) {
+                    try (InputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                        body = gunzip.readAllBytes();
+                    } catch (IOException e) {
+                        result.completeExceptionally(e);
+                        return;
+                    }
+                }
+                if (response.getCode() / 100 != 2) {
+                    result.completeExceptionally(new RestClientResponseException(
+                            request.getMethod() + " " + request.getRequestUri() + " failed",
+                            HttpStatusCode.valueOf(response.getCode()), response.getReasonPhrase(),
+                            null, body, StandardCharsets.UTF_8));
+                    return;
+                }
+                try {
+                    long start = System.nanoTime();
+                    Employee.Builder employee = Employee.newBuilder();
+                    PARSER.merge(new String(body, StandardCharsets.UTF_8), employee);
+                    if (parent != null) {
+                        parent.recordChild("deserialize", start, System.nanoTime());
+                    }
+                    result.complete(employee.build());
+                } catch (IOException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                if (span != null) {
+                    span.end();
+                }
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                if (span != null) {
+                    span.end();
+                }
+                result.completeExceptionally(new CancellationException("Request cancelled"));
+            }
+        });
+        return result;
+    }
+
+    /** Response whose gzip body is decompressed as it is read, with the encoding headers dropped. */
+    private static final class GunzippedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final HttpHeaders headers = new HttpHeaders();
+        private InputStream body;
+
+        GunzippedResponse(ClientHttpResponse response) {
+            this.response = response;
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new GZIPInputStream(response.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.servicea;
+
+import com.example.BatchGetEmployeesRequest;
+import com.example.Employee;
+import com.example.EmployeeList;
+import io.grpc.Status;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-id lookups into batchGetEmployees calls. A batch is sent when it
+ * reaches {@code maxBatchSize} ids or {@code lingerNanos} after its first id arrived, whichever
+ * comes first; each caller's future is then completed with its own employee or NOT_FOUND.
+ */
+class GetEmployeeBatcher {
+
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Function<BatchGetEmployeesRequest, CompletableFuture<EmployeeList>> rpc;
+    private final ScheduledThreadPoolExecutor timer;
+
+    // Guarded by this
+    private Batch pending;
+
+    GetEmployeeBatcher(int maxBatchSize, long lingerNanos,
+                       Function<BatchGetEmployeesRequest, CompletableFuture<EmployeeList>> rpc) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lingerNanos = lingerNanos;
+        this.rpc = rpc;
+        this.timer = new ScheduledThreadPoolExecutor(1,
+                r -> Thread.ofPlatform().daemon().name("employee-batcher").unstarted(r));
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    CompletableFuture<Employee> get(int id) {
+        CompletableFuture<Employee> future = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (this) {
+            if (pending == null) {
+                Batch batch = new Batch(maxBatchSize);
+                batch.lingerTask = timer.schedule(() -> flushIfPending(batch), lingerNanos, TimeUnit.NANOSECONDS);
+                pending = batch;
+            }
+            pending.add(id, future);
+            if (pending.size == maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            full.lingerTask.cancel(false);
+            send(full);
+        }
+        return future;
+    }
+
+    private void flushIfPending(Batch batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                // Already sent because it filled up
+                return;
+            }
+            pending = null;
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        BatchGetEmployeesRequest.Builder request = BatchGetEmployeesRequest.newBuilder();
+        for (int i = 0; i < batch.size; i++) {
+            request.addIds(batch.ids[i]);
+        }
+        rpc.apply(request.build()).whenComplete((list, error) -> {
+            if (error != null) {
+                for (int i = 0; i < batch.size; i++) {
+                    batch.waiters[i].completeExceptionally(error);
+                }
+                return;
+            }
+            Map<Integer, Employee> byId = new HashMap<>(list.getEmployeesCount() * 2);
+            for (Employee emp : list.getEmployeesList()) {
+                byId.put(emp.getId(), emp);
+            }
+            for (int i = 0; i < batch.size; i++) {
+                Employee emp = byId.get(batch.ids[i]);
+                if (emp != null) {
+                    batch.waiters[i].complete(emp);
+                } else {
+                    batch.waiters[i].completeExceptionally(Status.NOT_FOUND
+                            .withDescription("Employee not found: " + batch.ids[i])
+                            .asRuntimeException());
+                }
+            }
+        });
+    }
+
+    void shutdown() {
+        timer.shutdown();
+    }
+
+    private static final class Batch {
+        final int[] ids;
+        final CompletableFuture<Employee>[] waiters;
+        int size;
+        ScheduledFuture<?> lingerTask;
+
+        @SuppressWarnings("unchecked")
+        Batch(int capacity) {
+            this.ids = new int[capacity];
+            this.waiters = new CompletableFuture[capacity];
+        }
+
+        void add(int id, CompletableFuture<Employee> waiter) {
+            ids[size] = id;
+            waiters[size] = waiter;
+            size++;
+        }
+    }
+}
@@ -2,21 +2,22 @@ package com.example.servicea;
 
 import com.example.grpc.HelloProto;
 import com.example.grpc.HelloServiceGrpc;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.example.servicea.config.PooledChannel;
+import io.grpc.Channel;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 public class HelloClient {
 
-    private final ManagedChannel channel;
     private final HelloServiceGrpc.HelloServiceBlockingStub stub;
+    private final HelloServiceGrpc.HelloServiceStub asyncStub;
 
-    public HelloClient() {
-        this.channel = ManagedChannelBuilder.forAddress("localhost", 9090)
-                .usePlaintext()
-                .build();
+    public HelloClient(PooledChannel serviceBChannel, ClientInterceptorChain interceptors) {
+        Channel channel = interceptors.intercept(serviceBChannel);
         this.stub = HelloServiceGrpc.newBlockingStub(channel);
+        this.asyncStub = HelloServiceGrpc.newStub(channel);
     }
 
     public String sayHelloGrpc(String name) {
@@ -27,7 +28,9 @@ public class HelloClient {
         return response.getMessage();
     }
 
-    public void shutdown() {
-        channel.shutdown();
+    public CompletableFuture<String> sayHelloGrpcAsync(String name) {
+        UnaryFuture<HelloProto.HelloResponse> future = new UnaryFuture<>();
+        asyncStub.sayHello(HelloProto.HelloRequest.newBuilder().setName(name).build(), future);
+        return future.thenApply(HelloProto.HelloResponse::getMessage);
     }
 }
\ No newline at end of file
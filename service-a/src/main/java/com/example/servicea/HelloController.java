@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 public class HelloController {
 
@@ -16,7 +18,7 @@ public class HelloController {
     private final RestTemplate restTemplate = new RestTemplate();
 
     @GetMapping("/grpc")
-    public String callGrpc(@RequestParam String name) {
-        return grpcClient.sayHelloGrpc(name);
+    public CompletableFuture<String> callGrpc(@RequestParam String name) {
+        return grpcClient.sayHelloGrpcAsync(name);
     }
 }
\ No newline at end of file
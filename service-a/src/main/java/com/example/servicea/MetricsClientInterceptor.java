@@ -0,0 +1,112 @@
+package com.example.servicea;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side counterpart of service-b's MetricsServerInterceptor: per-method latency by status code,
+ * message sizes and in-flight calls. Meters are resolved once per method and status, so recording is
+ * just Micrometer's lock-free histogram and striped counter updates.
+ */
+@Component
+public class MetricsClientInterceptor implements ClientInterceptor {
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public MetricsClientInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions,
+            Channel next) {
+
+        MethodMeters methodMeters = meters.computeIfAbsent(method.getFullMethodName(), MethodMeters::new);
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+            private long start;
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                start = System.nanoTime();
+                methodMeters.inFlight.increment();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        if (message instanceof MessageLite ml) {
+                            methodMeters.responseSize.record(ml.getSerializedSize());
+                        }
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        methodMeters.inFlight.decrement();
+                        methodMeters.timer(status.getCode()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                if (message instanceof MessageLite ml) {
+                    methodMeters.requestSize.record(ml.getSerializedSize());
+                }
+                super.sendMessage(message);
+            }
+        };
+    }
+
+    private final class MethodMeters {
+        private final String method;
+        private final LongAdder inFlight = new LongAdder();
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(Status.Code.values().length);
+
+        MethodMeters(String method) {
+            this.method = method;
+            this.requestSize = size("request");
+            this.responseSize = size("response");
+            Gauge.builder("grpc.client.calls.in.flight", inFlight, LongAdder::sum)
+                    .tag("method", method)
+                    .register(registry);
+        }
+
+        private DistributionSummary size(String direction) {
+            return DistributionSummary.builder("grpc.client.message.size")
+                    .baseUnit("bytes")
+                    .tag("method", method)
+                    .tag("direction", direction)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        Timer timer(Status.Code code) {
+            Timer timer = timers.get(code.ordinal());
+            if (timer == null) {
+                // Registration is idempotent, so a lost race just returns the same meter
+                timer = Timer.builder("grpc.client.calls")
+                        .tag("method", method)
+                        .tag("status", code.name())
+                        .publishPercentileHistogram()
+                        .register(registry);
+                timers.set(code.ordinal(), timer);
+            }
+            return timer;
+        }
+    }
+}
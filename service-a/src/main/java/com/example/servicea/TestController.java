@@ -1,12 +1,14 @@
 package com.example.servicea;
 
 import com.example.Employee;
+import com.google.protobuf.FieldMask;
+import io.grpc.Status;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
-import java.util.List;
-import org.springframework.http.converter.HttpMessageConverter;
-import com.example.servicea.config.ProtobufHttpMessageConverter;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 public class TestController {
@@ -14,41 +16,51 @@ public class TestController {
     @Autowired
     private EmployeeGrpcClient grpcClient;
 
-    private final RestTemplate restTemplate;
+    @Autowired
+    private EmployeeCache employeeCache;
 
-    public TestController() {
-        // Configure RestTemplate to understand protobuf JSON via our converter
-        this.restTemplate = new RestTemplate();
-        List<HttpMessageConverter<?>> converters = this.restTemplate.getMessageConverters();
-        converters.add(0, new ProtobufHttpMessageConverter());
-    }
+    // Pooled and kept alive, so the REST path is compared in steady state like the gRPC channel
+    @Autowired
+    private EmployeeRestClient restClient;
 
-    // gRPC call
+    // gRPC call; the servlet thread is released while the RPC is in flight.
+    // fields=name,salary asks service-b for a projection instead of going through the cache;
+    // service-b rejects unknown fields with INVALID_ARGUMENT, which is the caller's error here too
     @GetMapping("/grpc/employee/{id}")
-    public Employee getViaGrpc(@PathVariable int id) {
-        return grpcClient.getEmployee(id);
+    public CompletableFuture<Employee> getViaGrpc(@PathVariable int id, @RequestParam(required = false) String fields) {
+        if (fields == null || fields.isBlank()) {
+            return employeeCache.get(id);
+        }
+        FieldMask.Builder mask = FieldMask.newBuilder();
+        for (String path : fields.split(",")) {
+            mask.addPaths(path.trim());
+        }
+        return grpcClient.getEmployeeAsync(id, mask.build()).exceptionally(TestController::badRequest);
     }
 
-    // REST call
+    // REST call; with rest.client.service-b.async the servlet thread is released as on the gRPC path
     @GetMapping("/rest/employee/{id}")
-    public Employee getViaRest(@PathVariable int id) {
-        return restTemplate.getForObject(
-                "http://localhost:8081/employee/" + id,
-                Employee.class);
+    public CompletableFuture<Employee> getViaRest(@PathVariable int id, @RequestParam(required = false) String fields) {
+        return restClient.getEmployee(id, fields);
     }
 
     // Add new employee via gRPC
     @PostMapping("/grpc/employee")
-    public Employee addViaGrpc(@RequestBody Employee emp) {
-        return grpcClient.addEmployee(emp);
+    public CompletableFuture<Employee> addViaGrpc(@RequestBody Employee emp) {
+        return grpcClient.addEmployeeAsync(emp);
     }
 
     // Add via REST
     @PostMapping("/rest/employee")
-    public Employee addViaRest(@RequestBody Employee emp) {
-        return restTemplate.postForObject(
-                "http://localhost:8081/employee",
-                emp,
-                Employee.class);
+    public CompletableFuture<Employee> addViaRest(@RequestBody Employee emp) {
+        return restClient.addEmployee(emp);
+    }
+
+    private static <T> T badRequest(Throwable failure) {
+        Status status = Status.fromThrowable(failure);
+        if (status.getCode() == Status.Code.INVALID_ARGUMENT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, status.getDescription(), failure);
+        }
+        throw failure instanceof CompletionException e ? e : new CompletionException(failure);
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.example.servicea;
+
+import com.example.common.tracing.Span;
+import com.example.common.tracing.Tracer;
+import io.grpc.*;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Propagates the current span to service-b in the {@code traceparent} metadata key and, for sampled
+ * traces, records the call as a client span with {@code serialize} (sending the request, which frames
+ * it on the calling thread) and {@code deserialize} (parsing each response) children. Calls made
+ * outside a request, such as coalesced batches, start a trace of their own.
+ * <p>
+ * Parse time is measured by a wrapping response marshaller, swapped into the method descriptor of
+ * sampled calls only; the channel parses each message on the thread that then delivers it to
+ * {@code onMessage}, which picks the timing up from a thread-local.
+ */
+@Component
+public class TracingClientInterceptor implements ClientInterceptor {
+
+    static final Metadata.Key<String> TRACEPARENT_KEY =
+            Metadata.Key.of(Span.TRACEPARENT, Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final ThreadLocal<long[]> LAST_PARSE = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Tracer tracer;
+    private final ConcurrentHashMap<MethodDescriptor<?, ?>, Traced<?, ?>> methods = new ConcurrentHashMap<>();
+
+    public TracingClientInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions,
+            Channel next) {
+
+        if (!tracer.isEnabled()) {
+            return next.newCall(method, callOptions);
+        }
+        Traced<ReqT, RespT> traced = (Traced<ReqT, RespT>) methods.computeIfAbsent(method, m -> new Traced<>(method));
+        Span parent = Span.current();
+        Span span = parent != null ? parent.child(traced.spanName) : tracer.start(traced.spanName, null);
+        if (!span.isSampled()) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    headers.put(TRACEPARENT_KEY, span.traceparent());
+                    super.start(responseListener, headers);
+                }
+            };
+        }
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(
+                next.newCall(traced.timedMethod, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                headers.put(TRACEPARENT_KEY, span.traceparent());
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        long[] parse = LAST_PARSE.get();
+                        span.recordChild("deserialize", parse[0], parse[1]);
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        span.end();
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                long start = System.nanoTime();
+                super.sendMessage(message);
+                span.recordChild("serialize", start, System.nanoTime());
+            }
+        };
+    }
+
+    /** Per-method span name and the descriptor whose response marshaller times parsing. */
+    private static final class Traced<ReqT, RespT> {
+        final String spanName;
+        final MethodDescriptor<ReqT, RespT> timedMethod;
+
+        Traced(MethodDescriptor<ReqT, RespT> method) {
+            this.spanName = "grpc.client " + method.getFullMethodName();
+            this.timedMethod = method.toBuilder()
+                    .setResponseMarshaller(new TimedMarshaller<>(method.getResponseMarshaller()))
+                    .build();
+        }
+    }
+
+    private record TimedMarshaller<T>(MethodDescriptor.Marshaller<T> delegate)
+            implements MethodDescriptor.Marshaller<T> {
+        @Override
+        public InputStream stream(T value) {
+            return delegate.stream(value);
+        }
+
+        @Override
+        public T parse(InputStream stream) {
+            long start = System.nanoTime();
+            T value = delegate.parse(stream);
+            long[] parse = LAST_PARSE.get();
+            parse[0] = start;
+            parse[1] = System.nanoTime();
+            return value;
+        }
+    }
+}
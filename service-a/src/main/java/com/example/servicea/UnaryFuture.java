@@ -0,0 +1,27 @@
+package com.example.servicea;
+
+import io.grpc.stub.StreamObserver;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Adapts a unary async-stub response to a {@link CompletableFuture}, so callers
+ * can compose results without parking a thread on the RPC.
+ */
+class UnaryFuture<T> extends CompletableFuture<T> implements StreamObserver<T> {
+
+    @Override
+    public void onNext(T value) {
+        complete(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        completeExceptionally(t);
+    }
+
+    @Override
+    public void onCompleted() {
+        // Value already delivered through onNext
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.servicea.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(GrpcClientProperties.class)
+public class GrpcClientConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public PooledChannel serviceBChannel(GrpcClientProperties properties) {
+        return PooledChannel.create(properties);
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.servicea.config;
+
+import com.example.common.grpc.Codecs;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for the channel pool used to reach service-b, bound from {@code grpc.client.service-b-grpc}.
+ */
+@ConfigurationProperties(prefix = "grpc.client.service-b-grpc")
+public class GrpcClientProperties {
+
+    public enum ExecutorType {
+        /** gRPC's built-in cached thread pool. */
+        DEFAULT,
+        /** Fixed pool of {@code executorThreads} platform threads. */
+        FIXED,
+        /** One virtual thread per callback. */
+        VIRTUAL,
+        /** Run callbacks on the transport thread; only safe when callbacks never block. */
+        DIRECT
+    }
+
+    /** {@code static://host:port[,host:port...]} or {@code dns:///name:port}. */
+    private String address = "static://localhost:9090";
+    /** {@code round_robin}, {@code least_outstanding} or {@code pick_first}. */
+    private String loadBalancingPolicy = "round_robin";
+    /** Probe each backend's grpc.health.v1 service and skip those not SERVING. */
+    private boolean healthCheckEnabled = true;
+    /** Service name to probe; empty checks the server as a whole. */
+    private String healthCheckService = "";
+    /** Idempotent methods, as {@code Service/method}, that may be retried or hedged. */
+    private List<String> retryMethods = List.of(
+            "com.example.EmployeeService/getEmployee",
+            "com.example.EmployeeService/batchGetEmployees",
+            "com.example.EmployeeService/getAllEmployees");
+    /** Total attempts including the first; 1 disables retries. */
+    private int retryMaxAttempts = 3;
+    private Duration retryInitialBackoff = Duration.ofMillis(50);
+    private Duration retryMaxBackoff = Duration.ofSeconds(1);
+    private List<String> retryableStatusCodes = List.of("UNAVAILABLE");
+    /** When set, hedge instead of retry: send another attempt after this delay without waiting for a failure. */
+    private Duration hedgingDelay;
+    private int poolSize = 1;
+    private int flowControlWindow = 1024 * 1024;
+    private int maxInboundMessageSize = 4 * 1024 * 1024;
+    private Duration keepAliveTime = Duration.ofSeconds(30);
+    private Duration keepAliveTimeout = Duration.ofSeconds(10);
+    private boolean keepAliveWithoutCalls = false;
+    private ExecutorType executor = ExecutorType.DEFAULT;
+    private int executorThreads = Runtime.getRuntime().availableProcessors();
+    /** Coalesce concurrent getEmployee lookups into batchGetEmployees calls. */
+    private boolean batchEnabled = false;
+    private int batchMaxSize = 64;
+    private Duration batchLinger = Duration.ofNanos(200_000);
+    /** Request encoding for methods not in {@code compressionMethods}: identity, gzip or snappy. */
+    private String compression = Codecs.IDENTITY;
+    /** Request encoding per full method name, e.g. {@code com.example.EmployeeService/addEmployees=snappy}. */
+    private Map<String, String> compressionMethods = new HashMap<>();
+    /** Requests smaller than this many bytes are sent uncompressed even when their method has a codec. */
+    private int compressionMinSize = 1024;
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getFlowControlWindow() {
+        return flowControlWindow;
+    }
+
+    public void setFlowControlWindow(int flowControlWindow) {
+        this.flowControlWindow = flowControlWindow;
+    }
+
+    public int getMaxInboundMessageSize() {
+        return maxInboundMessageSize;
+    }
+
+    public void setMaxInboundMessageSize(int maxInboundMessageSize) {
+        this.maxInboundMessageSize = maxInboundMessageSize;
+    }
+
+    public Duration getKeepAliveTime() {
+        return keepAliveTime;
+    }
+
+    public void setKeepAliveTime(Duration keepAliveTime) {
+        this.keepAliveTime = keepAliveTime;
+    }
+
+    public Duration getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    public void setKeepAliveTimeout(Duration keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    public boolean isKeepAliveWithoutCalls() {
+        return keepAliveWithoutCalls;
+    }
+
+    public void setKeepAliveWithoutCalls(boolean keepAliveWithoutCalls) {
+        this.keepAliveWithoutCalls = keepAliveWithoutCalls;
+    }
+
+    public ExecutorType getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(ExecutorType executor) {
+        this.executor = executor;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = executorThreads;
+    }
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public Duration getBatchLinger() {
+        return batchLinger;
+    }
+
+    public void setBatchLinger(Duration batchLinger) {
+        this.batchLinger = batchLinger;
+    }
+
+    public String getLoadBalancingPolicy() {
+        return loadBalancingPolicy;
+    }
+
+    public void setLoadBalancingPolicy(String loadBalancingPolicy) {
+        this.loadBalancingPolicy = loadBalancingPolicy;
+    }
+
+    public boolean isHealthCheckEnabled() {
+        return healthCheckEnabled;
+    }
+
+    public void setHealthCheckEnabled(boolean healthCheckEnabled) {
+        this.healthCheckEnabled = healthCheckEnabled;
+    }
+
+    public String getHealthCheckService() {
+        return healthCheckService;
+    }
+
+    public void setHealthCheckService(String healthCheckService) {
+        this.healthCheckService = healthCheckService;
+    }
+
+    public List<String> getRetryMethods() {
+        return retryMethods;
+    }
+
+    public void setRetryMethods(List<String> retryMethods) {
+        this.retryMethods = retryMethods;
+    }
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public Duration getRetryInitialBackoff() {
+        return retryInitialBackoff;
+    }
+
+    public void setRetryInitialBackoff(Duration retryInitialBackoff) {
+        this.retryInitialBackoff = retryInitialBackoff;
+    }
+
+    public Duration getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    public void setRetryMaxBackoff(Duration retryMaxBackoff) {
+        this.retryMaxBackoff = retryMaxBackoff;
+    }
+
+    public List<String> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public void setRetryableStatusCodes(List<String> retryableStatusCodes) {
+        this.retryableStatusCodes = retryableStatusCodes;
+    }
+
+    public Duration getHedgingDelay() {
+        return hedgingDelay;
+    }
+
+    public void setHedgingDelay(Duration hedgingDelay) {
+        this.hedgingDelay = hedgingDelay;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    public Map<String, String> getCompressionMethods() {
+        return compressionMethods;
+    }
+
+    public void setCompressionMethods(Map<String, String> compressionMethods) {
+        this.compressionMethods = compressionMethods;
+    }
+
+    public int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    public void setCompressionMinSize(int compressionMinSize) {
+        this.compressionMinSize = compressionMinSize;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.servicea.config;
+
+import io.grpc.Attributes;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends each call to whichever of two randomly chosen ready backends has fewer calls in
+ * flight. Sampling two rather than scanning all keeps picks O(1) and avoids every client
+ * herding onto the same momentarily idle backend.
+ *
+ * <p>All methods except picking run in the channel's synchronization context.
+ */
+final class LeastOutstandingLoadBalancer extends LoadBalancer {
+
+    private final Helper helper;
+    private final Map<EquivalentAddressGroup, Backend> backends = new HashMap<>();
+    private Status lastError = Status.UNAVAILABLE.withDescription("No backend connected yet");
+
+    LeastOutstandingLoadBalancer(Helper helper) {
+        this.helper = helper;
+    }
+
+    @Override
+    public Status acceptResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+        List<EquivalentAddressGroup> groups = resolvedAddresses.getAddresses();
+        if (groups.isEmpty()) {
+            Status status = Status.UNAVAILABLE.withDescription("Name resolver returned no addresses");
+            handleNameResolutionError(status);
+            return status;
+        }
+
+        Set<EquivalentAddressGroup> current = new HashSet<>();
+        for (EquivalentAddressGroup group : groups) {
+            // Key on addresses only; attributes may differ between resolutions of the same backend
+            EquivalentAddressGroup key = new EquivalentAddressGroup(group.getAddresses());
+            current.add(key);
+            Backend backend = backends.get(key);
+            if (backend != null) {
+                backend.subchannel.updateAddresses(List.of(group));
+                continue;
+            }
+            Subchannel subchannel = helper.createSubchannel(CreateSubchannelArgs.newBuilder()
+                    .setAddresses(group)
+                    .setAttributes(resolvedAddresses.getAttributes())
+                    .build());
+            Backend added = new Backend(subchannel);
+            backends.put(key, added);
+            subchannel.start(state -> onSubchannelState(added, state));
+            subchannel.requestConnection();
+        }
+
+        for (Iterator<Map.Entry<EquivalentAddressGroup, Backend>> it = backends.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<EquivalentAddressGroup, Backend> entry = it.next();
+            if (!current.contains(entry.getKey())) {
+                entry.getValue().removed = true;
+                entry.getValue().subchannel.shutdown();
+                it.remove();
+            }
+        }
+        updateBalancingState();
+        return Status.OK;
+    }
+
+    @Override
+    public void handleNameResolutionError(Status error) {
+        lastError = error;
+        if (backends.values().stream().noneMatch(b -> b.state == ConnectivityState.READY)) {
+            helper.updateBalancingState(ConnectivityState.TRANSIENT_FAILURE,
+                    new FixedPicker(PickResult.withError(error)));
+        }
+    }
+
+    private void onSubchannelState(Backend backend, ConnectivityStateInfo info) {
+        if (backend.removed) {
+            return;
+        }
+        backend.state = info.getState();
+        if (info.getState() == ConnectivityState.TRANSIENT_FAILURE) {
+            lastError = info.getStatus();
+        } else if (info.getState() == ConnectivityState.IDLE) {
+            backend.subchannel.requestConnection();
+        }
+        updateBalancingState();
+    }
+
+    private void updateBalancingState() {
+        List<Backend> ready = new ArrayList<>();
+        boolean connecting = false;
+        for (Backend backend : backends.values()) {
+            if (backend.state == ConnectivityState.READY) {
+                ready.add(backend);
+            } else if (backend.state == ConnectivityState.CONNECTING || backend.state == ConnectivityState.IDLE) {
+                connecting = true;
+            }
+        }
+        if (!ready.isEmpty()) {
+            helper.updateBalancingState(ConnectivityState.READY, new Picker(List.copyOf(ready)));
+        } else if (connecting) {
+            helper.updateBalancingState(ConnectivityState.CONNECTING, new FixedPicker(PickResult.withNoResult()));
+        } else {
+            helper.updateBalancingState(ConnectivityState.TRANSIENT_FAILURE,
+                    new FixedPicker(PickResult.withError(lastError)));
+        }
+    }
+
+    /** Streams in flight on {@code subchannel}, or -1 if it is not one of this balancer's backends. */
+    int outstanding(Subchannel subchannel) {
+        for (Backend backend : backends.values()) {
+            if (backend.subchannel == subchannel) {
+                return backend.outstanding.get();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void shutdown() {
+        for (Backend backend : backends.values()) {
+            backend.removed = true;
+            backend.subchannel.shutdown();
+        }
+        backends.clear();
+    }
+
+    private static final class Backend {
+        private final Subchannel subchannel;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        // Counts a stream from its creation on the subchannel's transport to its close, so every
+        // increment has exactly one decrement; a pick whose stream is never created counts for nothing
+        private final ClientStreamTracer.Factory tracerFactory = new ClientStreamTracer.Factory() {
+            @Override
+            public ClientStreamTracer newClientStreamTracer(ClientStreamTracer.StreamInfo info, Metadata headers) {
+                return new ClientStreamTracer() {
+                    private boolean created;
+
+                    @Override
+                    public void streamCreated(Attributes transportAttrs, Metadata headers) {
+                        created = true;
+                        outstanding.incrementAndGet();
+                    }
+
+                    @Override
+                    public void streamClosed(Status status) {
+                        if (created) {
+                            outstanding.decrementAndGet();
+                        }
+                    }
+                };
+            }
+        };
+        private ConnectivityState state = ConnectivityState.CONNECTING;
+        private boolean removed;
+
+        Backend(Subchannel subchannel) {
+            this.subchannel = subchannel;
+        }
+    }
+
+    private static final class Picker extends SubchannelPicker {
+        private final List<Backend> ready;
+
+        Picker(List<Backend> ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public PickResult pickSubchannel(PickSubchannelArgs args) {
+            Backend chosen = ready.get(0);
+            if (ready.size() > 1) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Backend a = ready.get(random.nextInt(ready.size()));
+                Backend b = ready.get(random.nextInt(ready.size()));
+                chosen = a.outstanding.get() <= b.outstanding.get() ? a : b;
+            }
+            return PickResult.withSubchannel(chosen.subchannel, chosen.tracerFactory);
+        }
+    }
+
+    private static final class FixedPicker extends SubchannelPicker {
+        private final PickResult result;
+
+        FixedPicker(PickResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public PickResult pickSubchannel(PickSubchannelArgs args) {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.servicea.config;
+
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.protobuf.services.HealthCheckingLoadBalancerUtil;
+
+/**
+ * Registers the {@code least_outstanding} policy. The balancer is wrapped in gRPC's client-side
+ * health checking, so a backend reporting NOT_SERVING is taken out of rotation just as with
+ * {@code round_robin}.
+ */
+public class LeastOutstandingLoadBalancerProvider extends LoadBalancerProvider {
+
+    static final String POLICY_NAME = "least_outstanding";
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public int getPriority() {
+        return 5;
+    }
+
+    @Override
+    public String getPolicyName() {
+        return POLICY_NAME;
+    }
+
+    @Override
+    public LoadBalancer newLoadBalancer(LoadBalancer.Helper helper) {
+        return HealthCheckingLoadBalancerUtil.newHealthCheckingLoadBalancer(new LoadBalancer.Factory() {
+            @Override
+            public LoadBalancer newLoadBalancer(LoadBalancer.Helper delegate) {
+                return new LeastOutstandingLoadBalancer(delegate);
+            }
+        }, helper);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.servicea.config;
+
+import com.example.common.grpc.Codecs;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Channel} backed by several independent sub-channels to the same target.
+ * Each sub-channel owns its own HTTP/2 connection, so spreading calls across them
+ * avoids the per-connection stream limit and single event-loop bottleneck.
+ * Within each sub-channel, calls are balanced across the target's backends according to the
+ * service config built from {@link GrpcClientProperties}.
+ */
+public class PooledChannel extends Channel {
+
+    /** Address form for a service-b running in the same JVM with {@code grpc.server.transport=in-process}. */
+    static final String IN_PROCESS_PREFIX = "in-process:";
+
+    private final List<ManagedChannel> channels;
+    private final ExecutorService executor;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private PooledChannel(List<ManagedChannel> channels, ExecutorService executor) {
+        this.channels = channels;
+        this.executor = executor;
+    }
+
+    public static PooledChannel create(GrpcClientProperties properties) {
+        ExecutorService executor = switch (properties.getExecutor()) {
+            case FIXED -> Executors.newFixedThreadPool(properties.getExecutorThreads());
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+            case DEFAULT, DIRECT -> null;
+        };
+
+        if (properties.getAddress().startsWith(IN_PROCESS_PREFIX)) {
+            // No connections to spread or backends to balance: one channel straight into service-b's server
+            InProcessChannelBuilder builder = InProcessChannelBuilder
+                    .forName(properties.getAddress().substring(IN_PROCESS_PREFIX.length()))
+                    .maxInboundMessageSize(properties.getMaxInboundMessageSize());
+            if (executor != null) {
+                builder.executor(executor);
+            } else if (properties.getExecutor() == GrpcClientProperties.ExecutorType.DIRECT) {
+                builder.directExecutor();
+            }
+            return new PooledChannel(List.of(builder.build()), executor);
+        }
+
+        Map<String, ?> serviceConfig = serviceConfig(properties);
+        int poolSize = Math.max(1, properties.getPoolSize());
+        List<ManagedChannel> channels = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            NettyChannelBuilder builder = NettyChannelBuilder.forTarget(properties.getAddress())
+                    .usePlaintext()
+                    .defaultServiceConfig(serviceConfig)
+                    .enableRetry()
+                    .flowControlWindow(properties.getFlowControlWindow())
+                    .maxInboundMessageSize(properties.getMaxInboundMessageSize())
+                    .keepAliveTime(properties.getKeepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+                    .keepAliveTimeout(properties.getKeepAliveTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                    .keepAliveWithoutCalls(properties.isKeepAliveWithoutCalls())
+                    // Advertises gzip and snappy, so service-b may compress large responses
+                    .compressorRegistry(Codecs.compressorRegistry())
+                    .decompressorRegistry(Codecs.decompressorRegistry());
+            if (executor != null) {
+                builder.executor(executor);
+            } else if (properties.getExecutor() == GrpcClientProperties.ExecutorType.DIRECT) {
+                builder.directExecutor();
+            }
+            channels.add(builder.build());
+        }
+        return new PooledChannel(List.copyOf(channels), executor);
+    }
+
+    /**
+     * Service config in gRPC's JSON shape: load-balancing policy, client-side health checking and
+     * a retry or hedging policy for the idempotent reads. Numbers must be doubles and durations
+     * strings such as {@code "0.05s"}.
+     */
+    static Map<String, ?> serviceConfig(GrpcClientProperties properties) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("loadBalancingConfig", List.of(Map.of(properties.getLoadBalancingPolicy(), Map.of())));
+        if (properties.isHealthCheckEnabled()) {
+            config.put("healthCheckConfig", Map.of("serviceName", properties.getHealthCheckService()));
+        }
+        if (properties.getRetryMaxAttempts() > 1 && !properties.getRetryMethods().isEmpty()) {
+            List<Map<String, String>> names = new ArrayList<>();
+            for (String method : properties.getRetryMethods()) {
+                int slash = method.lastIndexOf('/');
+                names.add(Map.of("service", method.substring(0, slash), "method", method.substring(slash + 1)));
+            }
+            Map<String, Object> methodConfig = new LinkedHashMap<>();
+            methodConfig.put("name", names);
+            double maxAttempts = properties.getRetryMaxAttempts();
+            if (properties.getHedgingDelay() != null) {
+                methodConfig.put("hedgingPolicy", Map.of(
+                        "maxAttempts", maxAttempts,
+                        "hedgingDelay", seconds(properties.getHedgingDelay()),
+                        "nonFatalStatusCodes", properties.getRetryableStatusCodes()));
+            } else {
+                methodConfig.put("retryPolicy", Map.of(
+                        "maxAttempts", maxAttempts,
+                        "initialBackoff", seconds(properties.getRetryInitialBackoff()),
+                        "maxBackoff", seconds(properties.getRetryMaxBackoff()),
+                        "backoffMultiplier", 2.0,
+                        "retryableStatusCodes", properties.getRetryableStatusCodes()));
+            }
+            config.put("methodConfig", List.of(methodConfig));
+        }
+        return config;
+    }
+
+    private static String seconds(Duration duration) {
+        return BigDecimal.valueOf(duration.toNanos(), 9).stripTrailingZeros().toPlainString() + "s";
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+        return channels.get(Math.floorMod(next.getAndIncrement(), channels.size())).newCall(method, callOptions);
+    }
+
+    @Override
+    public String authority() {
+        return channels.get(0).authority();
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (ManagedChannel channel : channels) {
+            channel.shutdown();
+        }
+        for (ManagedChannel channel : channels) {
+            if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                channel.shutdownNow();
+            }
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,24 +1,59 @@
 package com.example.servicea.config;
 
+import com.example.common.tracing.Span;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Minimal JSON HttpMessageConverter for Protobuf Messages using JsonFormat.
- * This converter supports types that extend com.google.protobuf.Message.
+ * HttpMessageConverter for Protobuf Messages. Speaks JSON via JsonFormat and, when the client
+ * negotiates {@code application/x-protobuf}, the binary wire format directly. JSON comes first, so
+ * clients sending no Accept header or {@code *}{@code /*} keep getting JSON.
+ * Default instances are resolved once per message class, and JSON is streamed to and from the
+ * HTTP body instead of going through an intermediate String. Within a sampled trace, reading and
+ * writing are recorded as {@code deserialize} and {@code serialize} children of the current span.
  */
 public class ProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Message> {
 
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final JsonFormat.Printer PRINTER =
+            JsonFormat.printer().alwaysPrintFieldsWithNoPresence().omittingInsignificantWhitespace();
+    private static final JsonFormat.Parser PARSER = JsonFormat.parser().ignoringUnknownFields();
+
+    /** Default instance per generated message class; its builder and parser need no further reflection. */
+    private static final ClassValue<Message> DEFAULT_INSTANCES = new ClassValue<>() {
+        @Override
+        protected Message computeValue(Class<?> type) {
+            try {
+                MethodHandle getDefaultInstance = MethodHandles.publicLookup()
+                        .findStatic(type, "getDefaultInstance", MethodType.methodType(type));
+                return (Message) getDefaultInstance.invoke();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Not a generated protobuf message: " + type.getName(), e);
+            }
+        }
+    };
+
     public ProtobufHttpMessageConverter() {
-        super(MediaType.APPLICATION_JSON);
+        // No default charset: it would be appended to the binary content type as well
+        super(MediaType.APPLICATION_JSON, PROTOBUF);
     }
 
     @Override
@@ -28,20 +63,71 @@ public class ProtobufHttpMessageConverter extends AbstractHttpMessageConverter<M
 
     @Override
     protected Message readInternal(Class<? extends Message> clazz, HttpInputMessage inputMessage) throws IOException {
+        Span span = Span.current();
+        if (span == null || !span.isSampled()) {
+            return readMessage(clazz, inputMessage);
+        }
+        long start = System.nanoTime();
         try {
-            Message.Builder builder = (Message.Builder) clazz.getMethod("newBuilder").invoke(null);
-            String json = new String(inputMessage.getBody().readAllBytes(), StandardCharsets.UTF_8);
-            JsonFormat.parser().ignoringUnknownFields().merge(json, builder);
-            return (Message) builder.build();
-        } catch (ReflectiveOperationException e) {
-            throw new IOException("Failed to build protobuf message via reflection for " + clazz.getName(), e);
+            return readMessage(clazz, inputMessage);
+        } finally {
+            span.recordChild("deserialize", start, System.nanoTime());
         }
     }
 
     @Override
     protected void writeInternal(Message message, HttpOutputMessage outputMessage) throws IOException {
-        String json = JsonFormat.printer().includingDefaultValueFields().omittingInsignificantWhitespace().print(message);
-        outputMessage.getBody().write(json.getBytes(StandardCharsets.UTF_8));
+        Span span = Span.current();
+        if (span == null || !span.isSampled()) {
+            writeMessage(message, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            writeMessage(message, outputMessage);
+        } finally {
+            span.recordChild("serialize", start, System.nanoTime());
+        }
+    }
+
+    private Message readMessage(Class<? extends Message> clazz, HttpInputMessage inputMessage) throws IOException {
+        Message prototype = DEFAULT_INSTANCES.get(clazz);
+        MediaType contentType = inputMessage.getHeaders().getContentType();
+        if (isProtobuf(contentType)) {
+            return prototype.getParserForType().parseFrom(inputMessage.getBody());
+        }
+        Message.Builder builder = prototype.newBuilderForType();
+        try {
+            PARSER.merge(new InputStreamReader(inputMessage.getBody(), charset(contentType)), builder);
+        } catch (InvalidProtocolBufferException e) {
+            throw new HttpMessageNotReadableException("Invalid JSON for " + clazz.getName(), e, inputMessage);
+        }
+        return builder.build();
+    }
+
+    private void writeMessage(Message message, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (isProtobuf(contentType)) {
+            message.writeTo(outputMessage.getBody());
+            return;
+        }
+        Writer writer = new OutputStreamWriter(outputMessage.getBody(), charset(contentType));
+        PRINTER.appendTo(message, writer);
+        writer.flush();
+    }
+
+    /** Binary bodies have a known length up front, which spares chunked transfer encoding. */
+    @Override
+    @Nullable
+    protected Long getContentLength(Message message, @Nullable MediaType contentType) {
+        return isProtobuf(contentType) ? (long) message.getSerializedSize() : null;
+    }
+
+    private static boolean isProtobuf(@Nullable MediaType contentType) {
+        return contentType != null && PROTOBUF.isCompatibleWith(contentType);
     }
-}
 
+    private static Charset charset(@Nullable MediaType contentType) {
+        return contentType != null && contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.servicea.config;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.NameResolverProvider;
+import io.grpc.Status;
+import io.grpc.StatusOr;
+import io.grpc.SynchronizationContext;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves {@code static://host1:port1,host2:port2} to a fixed list of backends, one address
+ * group each, so the load-balancing policy can spread calls across every replica.
+ * Registered through {@code META-INF/services}; use {@code dns:///name:port} for DNS discovery.
+ */
+public class StaticNameResolverProvider extends NameResolverProvider {
+
+    static final String SCHEME = "static";
+
+    @Override
+    protected boolean isAvailable() {
+        return true;
+    }
+
+    // Below the built-in DNS provider's 5, so "static" never becomes the default scheme for bare targets
+    @Override
+    protected int priority() {
+        return 4;
+    }
+
+    @Override
+    public String getDefaultScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public NameResolver newNameResolver(URI targetUri, NameResolver.Args args) {
+        if (!SCHEME.equals(targetUri.getScheme()) || targetUri.getAuthority() == null) {
+            return null;
+        }
+        List<String> hostPorts = List.of(targetUri.getAuthority().split(","));
+        SynchronizationContext syncContext = args.getSynchronizationContext();
+        // Channels always supply one; only a hand-built Args leaves lookups on the caller's thread
+        Executor offload = args.getOffloadExecutor() != null ? args.getOffloadExecutor() : Runnable::run;
+        return new NameResolver() {
+            // Only touched on the synchronization context
+            private Listener2 listener;
+            private boolean resolving;
+            private boolean shutdown;
+
+            @Override
+            public String getServiceAuthority() {
+                return hostPorts.get(0).trim();
+            }
+
+            @Override
+            public void start(Listener2 listener) {
+                this.listener = listener;
+                resolve();
+            }
+
+            @Override
+            public void refresh() {
+                resolve();
+            }
+
+            // start() and refresh() run on the synchronization context, which may be an application
+            // thread, so the blocking lookups run on the offload executor like DnsNameResolver's
+            private void resolve() {
+                if (resolving || shutdown) {
+                    return;
+                }
+                resolving = true;
+                offload.execute(() -> {
+                    StatusOr<List<EquivalentAddressGroup>> addresses = lookUp();
+                    syncContext.execute(() -> {
+                        resolving = false;
+                        if (shutdown) {
+                            return;
+                        }
+                        if (!addresses.hasValue()) {
+                            listener.onError(addresses.getStatus());
+                            return;
+                        }
+                        listener.onResult2(ResolutionResult.newBuilder().setAddressesOrError(addresses).build());
+                    });
+                });
+            }
+
+            // Host names are looked up again on every refresh, i.e. after a connection failure
+            private StatusOr<List<EquivalentAddressGroup>> lookUp() {
+                List<EquivalentAddressGroup> groups = new ArrayList<>(hostPorts.size());
+                for (String hostPort : hostPorts) {
+                    String trimmed = hostPort.trim();
+                    int colon = trimmed.lastIndexOf(':');
+                    if (colon < 0) {
+                        return StatusOr.fromStatus(Status.INVALID_ARGUMENT.withDescription("Missing port in " + trimmed));
+                    }
+                    InetSocketAddress address;
+                    try {
+                        address = new InetSocketAddress(
+                                trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1)));
+                    } catch (IllegalArgumentException e) {
+                        // Not a number, or out of range
+                        return StatusOr.fromStatus(
+                                Status.INVALID_ARGUMENT.withDescription("Invalid port in " + trimmed).withCause(e));
+                    }
+                    if (address.isUnresolved()) {
+                        continue;
+                    }
+                    groups.add(new EquivalentAddressGroup(address));
+                }
+                if (groups.isEmpty()) {
+                    return StatusOr.fromStatus(
+                            Status.UNAVAILABLE.withDescription("No resolvable address in " + hostPorts));
+                }
+                return StatusOr.fromValue(groups);
+            }
+
+            @Override
+            public void shutdown() {
+                shutdown = true;
+            }
+        };
+    }
+}
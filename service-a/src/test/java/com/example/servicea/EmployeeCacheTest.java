@@ -0,0 +1,86 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import com.example.servicea.config.EmployeeCacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class EmployeeCacheTest {
+
+    private final FakeEmployeeService service = new FakeEmployeeService();
+    private InProcessServiceB serviceB;
+    private EmployeeCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serviceB = new InProcessServiceB(service);
+        service.change(Employee.newBuilder().setId(1).setName("before").build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (cache != null) {
+            cache.shutdown();
+        }
+        serviceB.close();
+    }
+
+    @Test
+    void disabledByDefault() throws Exception {
+        assertFalse(new EmployeeCacheProperties().isEnabled());
+        cache = new EmployeeCache(serviceB.client, new EmployeeCacheProperties(), serviceB.registry);
+
+        get(1);
+        get(1);
+
+        assertEquals(2, service.getEmployeeCalls.get());
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() throws Exception {
+        cache = enabledCache();
+
+        assertEquals("before", get(1).getName());
+        assertEquals("before", get(1).getName());
+
+        assertEquals(1, service.getEmployeeCalls.get());
+    }
+
+    @Test
+    void changeFeedInvalidatesTheEntry() throws Exception {
+        cache = enabledCache();
+        assertEquals("before", get(1).getName());
+
+        service.change(Employee.newBuilder().setId(1).setName("after").build());
+
+        // The event reaches the cache asynchronously
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!get(1).getName().equals("after") && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        assertEquals("after", get(1).getName());
+    }
+
+    private EmployeeCache enabledCache() {
+        EmployeeCacheProperties properties = new EmployeeCacheProperties();
+        properties.setEnabled(true);
+        EmployeeCache enabled = new EmployeeCache(serviceB.client, properties, serviceB.registry);
+        // Changes made before the watch is registered would not be seen
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.watchers.isEmpty() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return enabled;
+    }
+
+    private Employee get(int id) throws Exception {
+        return cache.get(id).get(5, TimeUnit.SECONDS);
+    }
+}
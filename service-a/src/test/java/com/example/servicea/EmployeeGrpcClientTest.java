@@ -0,0 +1,210 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeGrpcClientTest {
+
+    private final FakeEmployeeService service = new FakeEmployeeService();
+    private InProcessServiceB serviceB;
+    private EmployeeGrpcClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serviceB = new InProcessServiceB(service);
+        client = serviceB.client;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        serviceB.close();
+    }
+
+    @Test
+    void addEmployeesSendsFullBatchesAndCountsWhatWasStored() throws Exception {
+        long stored = client.addEmployees(employees(1050), 100, 3);
+
+        assertEquals(1050, stored);
+        assertEquals(1050, service.employees.size());
+        assertEquals(11, service.batchSizes.size());
+        assertEquals(Collections.nCopies(10, 100), service.batchSizes.subList(0, 10));
+        assertEquals(50, service.batchSizes.get(10));
+    }
+
+    @Test
+    void addEmployeesStopsAtTheWindowAndCancelsWhenInterrupted() throws Exception {
+        service.holdAcks = true;
+        CompletableFuture<Throwable> thrown = new CompletableFuture<>();
+        Thread sender = Thread.ofPlatform().start(() -> {
+            try {
+                client.addEmployees(employees(1000), 10, 2);
+                thrown.complete(null);
+            } catch (Throwable t) {
+                thrown.complete(t);
+            }
+        });
+
+        // Two batches fill the window; no third is sent while they are unacknowledged
+        awaitBatches(2);
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(2, service.batchSizes.size());
+
+        sender.interrupt();
+        assertInstanceOf(InterruptedException.class, thrown.get(5, TimeUnit.SECONDS));
+        assertEquals(Status.Code.CANCELLED, service.addEmployeesError.get(5, TimeUnit.SECONDS).getCode());
+    }
+
+    @Test
+    void addEmployeesCancelsWhenTheSourceFails() throws Exception {
+        Iterator<Employee> source = employees(25);
+        Iterator<Employee> failing = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Employee next() {
+                if (!source.hasNext()) {
+                    throw new IllegalStateException("source failed");
+                }
+                return source.next();
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> client.addEmployees(failing, 10, 4));
+        assertEquals(Status.Code.CANCELLED, service.addEmployeesError.get(5, TimeUnit.SECONDS).getCode());
+    }
+
+    @Test
+    void streamEmployeesReturnsEveryEmployeeInOrderAcrossPages() {
+        store(5);
+
+        List<Integer> ids = new ArrayList<>();
+        try (EmployeeGrpcClient.EmployeeStream stream = client.streamEmployees(2)) {
+            stream.forEachRemaining(employee -> ids.add(employee.getId()));
+            assertEquals("5", stream.resumeToken());
+        }
+
+        assertEquals(List.of(1, 2, 3, 4, 5), ids);
+    }
+
+    @Test
+    void resumeTokenContinuesAfterTheLastFullyReadPage() {
+        store(5);
+
+        String token;
+        try (EmployeeGrpcClient.EmployeeStream stream = client.streamEmployees(2)) {
+            assertEquals("", stream.resumeToken());
+            stream.next();
+            stream.next();
+            assertEquals("2", stream.resumeToken());
+            // Half of the second page: resuming repeats it rather than skipping the unread half
+            stream.next();
+            token = stream.resumeToken();
+        }
+        assertEquals("2", token);
+
+        List<Integer> ids = new ArrayList<>();
+        try (EmployeeGrpcClient.EmployeeStream stream = client.streamEmployees(2, token)) {
+            stream.forEachRemaining(employee -> ids.add(employee.getId()));
+        }
+        assertEquals(List.of(3, 4, 5), ids);
+    }
+
+    @Test
+    void closingTheStreamEarlyCancelsTheCall() throws Exception {
+        store(5);
+        service.holdStreams = true;
+
+        try (EmployeeGrpcClient.EmployeeStream stream = client.streamEmployees(2)) {
+            assertEquals(1, stream.next().getId());
+        }
+
+        service.streamCancelled.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void uploadedPictureDownloadsUnchanged() throws Exception {
+        byte[] picture = new byte[3 * EmployeeGrpcClient.PICTURE_CHUNK_SIZE + 100];
+        new Random(7).nextBytes(picture);
+
+        long size = client.uploadProfilePicture(3, new ByteArrayInputStream(picture));
+
+        assertEquals(picture.length, size);
+        assertEquals(List.of(EmployeeGrpcClient.PICTURE_CHUNK_SIZE, EmployeeGrpcClient.PICTURE_CHUNK_SIZE,
+                EmployeeGrpcClient.PICTURE_CHUNK_SIZE, 100), service.uploadChunkSizes);
+        try (InputStream download = client.downloadProfilePicture(3)) {
+            assertArrayEquals(picture, download.readAllBytes());
+        }
+    }
+
+    @Test
+    void emptyPictureIsStillUploadedForTheEmployee() throws Exception {
+        assertEquals(0, client.uploadProfilePicture(4, InputStream.nullInputStream()));
+
+        assertEquals(List.of(0), service.uploadChunkSizes);
+        assertEquals(ByteString.EMPTY, service.pictures.get(4));
+    }
+
+    @Test
+    void missingPictureFailsTheReadWithIOException() throws Exception {
+        try (InputStream download = client.downloadProfilePicture(99)) {
+            IOException e = assertThrows(IOException.class, download::read);
+            assertEquals(Status.Code.NOT_FOUND, Status.fromThrowable(e.getCause()).getCode());
+        }
+    }
+
+    @Test
+    void closingTheDownloadEarlyCancelsTheCall() throws Exception {
+        service.pictures.put(5, ByteString.copyFrom(new byte[4 * EmployeeGrpcClient.PICTURE_CHUNK_SIZE]));
+        service.holdStreams = true;
+
+        try (InputStream download = client.downloadProfilePicture(5)) {
+            assertEquals(16, download.readNBytes(16).length);
+        }
+
+        service.downloadCancelled.get(5, TimeUnit.SECONDS);
+    }
+
+    private void store(int count) {
+        for (int id = 1; id <= count; id++) {
+            service.employees.put(id, Employee.newBuilder().setId(id).setName("stream " + id).build());
+        }
+    }
+
+    private void awaitBatches(int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.batchSizes.size() < count && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private static Iterator<Employee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Employee.newBuilder().setName("bulk " + i).build())
+                .iterator();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import com.example.servicea.config.RestClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sequential calls must reuse one kept-alive connection in both client modes, which is the
+ * point of pooling: the REST comparison should not pay for a TCP handshake per request. The async
+ * client completes the future before it releases the connection, so the next call could lease a
+ * second one; with one connection per route it waits for the release, and a second client port
+ * then means the connection was closed rather than kept alive.
+ */
+class EmployeeRestClientTest {
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/employee/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            String id = exchange.getRequestURI().getPath().substring("/employee/".length());
+            byte[] body = ("{\"id\":" + id + ",\"name\":\"rest " + id + "\",\"salary\":1.5}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void sequentialCallsShareOneConnection(boolean async) throws Exception {
+        RestClientProperties properties = new RestClientProperties();
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        properties.setAsync(async);
+        if (async) {
+            properties.setMaxConnectionsPerRoute(1);
+        }
+        EmployeeRestClient client = new EmployeeRestClient(properties, new RestTemplateBuilder());
+        try {
+            for (int id = 1; id <= 20; id++) {
+                Employee employee = client.getEmployee(id, null).get(5, TimeUnit.SECONDS);
+                assertEquals(id, employee.getId());
+                assertEquals("rest " + id, employee.getName());
+            }
+            assertEquals(1, clientPorts.size());
+        } finally {
+            client.shutdown();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.servicea;
+
+import com.example.AddEmployeesAck;
+import com.example.AddEmployeesRequest;
+import com.example.BatchGetEmployeesRequest;
+import com.example.DownloadProfilePictureRequest;
+import com.example.Employee;
+import com.example.EmployeeChangeEvent;
+import com.example.EmployeeList;
+import com.example.EmployeePage;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.example.ProfilePictureChunk;
+import com.example.ProfilePictureUploadResult;
+import com.example.StreamEmployeesRequest;
+import com.example.WatchEmployeesRequest;
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for service-b's EmployeeService in client tests: a map of employees, a change feed
+ * driven by {@link #change}, and counters for the calls that reached it.
+ */
+class FakeEmployeeService extends EmployeeServiceGrpc.EmployeeServiceImplBase {
+
+    static final String FEED_ID = "fake-feed";
+
+    final Map<Integer, Employee> employees = new ConcurrentHashMap<>();
+    final AtomicInteger getEmployeeCalls = new AtomicInteger();
+    final List<StreamObserver<EmployeeChangeEvent>> watchers = new CopyOnWriteArrayList<>();
+    final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    final CompletableFuture<Status> addEmployeesError = new CompletableFuture<>();
+    volatile boolean holdAcks;
+    final CompletableFuture<Void> streamCancelled = new CompletableFuture<>();
+    volatile boolean holdStreams;
+    final Map<Integer, ByteString> pictures = new ConcurrentHashMap<>();
+    final List<Integer> uploadChunkSizes = new CopyOnWriteArrayList<>();
+    final CompletableFuture<Void> downloadCancelled = new CompletableFuture<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public void getEmployee(GetEmployeeRequest request, StreamObserver<Employee> responseObserver) {
+        getEmployeeCalls.incrementAndGet();
+        for (String path : request.getReadMask().getPathsList()) {
+            if (Employee.getDescriptor().findFieldByName(path) == null) {
+                responseObserver.onError(Status.INVALID_ARGUMENT
+                        .withDescription("Unsupported employee field path: " + path).asRuntimeException());
+                return;
+            }
+        }
+        Employee employee = employees.get(request.getId());
+        if (employee == null) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription("No employee " + request.getId())
+                    .asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(employee);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void batchGetEmployees(BatchGetEmployeesRequest request, StreamObserver<EmployeeList> responseObserver) {
+        EmployeeList.Builder list = EmployeeList.newBuilder();
+        for (int id : request.getIdsList()) {
+            Employee employee = employees.get(id);
+            if (employee != null) {
+                list.addEmployees(employee);
+            }
+        }
+        responseObserver.onNext(list.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void addEmployee(Employee request, StreamObserver<Employee> responseObserver) {
+        Employee stored = request.toBuilder().setId(lastId.incrementAndGet()).build();
+        employees.put(stored.getId(), stored);
+        responseObserver.onNext(stored);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Pages of employees after the resume token, in id order, each carrying its last id as the
+     * next token as service-b does. With {@link #holdStreams} the call stays open after the last page.
+     */
+    @Override
+    public void streamEmployees(StreamEmployeesRequest request, StreamObserver<EmployeePage> responseObserver) {
+        ServerCallStreamObserver<EmployeePage> observer = (ServerCallStreamObserver<EmployeePage>) responseObserver;
+        observer.setOnCancelHandler(() -> streamCancelled.complete(null));
+        int afterId = request.getResumeToken().isEmpty() ? 0 : Integer.parseInt(request.getResumeToken());
+        List<Employee> remaining = employees.values().stream()
+                .filter(employee -> employee.getId() > afterId)
+                .sorted(Comparator.comparingInt(Employee::getId))
+                .toList();
+        for (int from = 0; from < remaining.size(); from += request.getPageSize()) {
+            List<Employee> page = remaining.subList(from, Math.min(from + request.getPageSize(), remaining.size()));
+            observer.onNext(EmployeePage.newBuilder()
+                    .addAllEmployees(page)
+                    .setNextResumeToken(Integer.toString(page.getLast().getId()))
+                    .build());
+        }
+        if (!holdStreams) {
+            observer.onCompleted();
+        }
+    }
+
+    /** Acknowledges every batch unless {@link #holdAcks} is set; records batch sizes and cancellation. */
+    @Override
+    public StreamObserver<AddEmployeesRequest> addEmployees(StreamObserver<AddEmployeesAck> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(AddEmployeesRequest batch) {
+                batchSizes.add(batch.getEmployeesCount());
+                if (holdAcks) {
+                    return;
+                }
+                AddEmployeesAck.Builder ack = AddEmployeesAck.newBuilder();
+                for (Employee employee : batch.getEmployeesList()) {
+                    Employee stored = employee.toBuilder().setId(lastId.incrementAndGet()).build();
+                    employees.put(stored.getId(), stored);
+                    ack.addIds(stored.getId());
+                }
+                responseObserver.onNext(ack.build());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                addEmployeesError.complete(Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public StreamObserver<ProfilePictureChunk> uploadProfilePicture(
+            StreamObserver<ProfilePictureUploadResult> responseObserver) {
+        return new StreamObserver<>() {
+            private int employeeId;
+            private ByteString picture = ByteString.EMPTY;
+
+            @Override
+            public void onNext(ProfilePictureChunk chunk) {
+                if (uploadChunkSizes.isEmpty()) {
+                    employeeId = chunk.getEmployeeId();
+                }
+                uploadChunkSizes.add(chunk.getData().size());
+                picture = picture.concat(chunk.getData());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onCompleted() {
+                pictures.put(employeeId, picture);
+                responseObserver.onNext(ProfilePictureUploadResult.newBuilder()
+                        .setEmployeeId(employeeId)
+                        .setSize(picture.size())
+                        .build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    /** Sends the stored picture in chunks of the requested size; {@link #holdStreams} keeps the call open after it. */
+    @Override
+    public void downloadProfilePicture(DownloadProfilePictureRequest request,
+                                       StreamObserver<ProfilePictureChunk> responseObserver) {
+        ServerCallStreamObserver<ProfilePictureChunk> observer =
+                (ServerCallStreamObserver<ProfilePictureChunk>) responseObserver;
+        observer.setOnCancelHandler(() -> downloadCancelled.complete(null));
+        ByteString picture = pictures.get(request.getEmployeeId());
+        if (picture == null) {
+            observer.onError(Status.NOT_FOUND.withDescription("No picture for " + request.getEmployeeId())
+                    .asRuntimeException());
+            return;
+        }
+        for (int from = 0; from < picture.size(); from += request.getChunkSize()) {
+            observer.onNext(ProfilePictureChunk.newBuilder()
+                    .setEmployeeId(request.getEmployeeId())
+                    .setData(picture.substring(from, Math.min(from + request.getChunkSize(), picture.size())))
+                    .build());
+        }
+        if (!holdStreams) {
+            observer.onCompleted();
+        }
+    }
+
+    @Override
+    public void watchEmployees(WatchEmployeesRequest request, StreamObserver<EmployeeChangeEvent> responseObserver) {
+        ((ServerCallStreamObserver<EmployeeChangeEvent>) responseObserver)
+                .setOnCancelHandler(() -> watchers.remove(responseObserver));
+        watchers.add(responseObserver);
+    }
+
+    /** Stores {@code employee} under its id and sends the change to every watcher. */
+    void change(Employee employee) {
+        boolean created = employees.put(employee.getId(), employee) == null;
+        lastId.accumulateAndGet(employee.getId(), Math::max);
+        EmployeeChangeEvent event = EmployeeChangeEvent.newBuilder()
+                .setSequence(sequence.incrementAndGet())
+                .setType(created ? EmployeeChangeEvent.ChangeType.CREATED : EmployeeChangeEvent.ChangeType.UPDATED)
+                .setEmployee(employee)
+                .setFeedId(FEED_ID)
+                .build();
+        for (StreamObserver<EmployeeChangeEvent> watcher : watchers) {
+            synchronized (watcher) {
+                watcher.onNext(event);
+            }
+        }
+    }
+}
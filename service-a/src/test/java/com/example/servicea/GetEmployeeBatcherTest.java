@@ -0,0 +1,66 @@
+package com.example.servicea;
+
+import com.example.BatchGetEmployeesRequest;
+import com.example.Employee;
+import com.example.EmployeeList;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GetEmployeeBatcherTest {
+
+    private final List<BatchGetEmployeesRequest> requests = new CopyOnWriteArrayList<>();
+
+    // Fake server: knows every even id
+    private CompletableFuture<EmployeeList> rpc(BatchGetEmployeesRequest request) {
+        requests.add(request);
+        EmployeeList.Builder list = EmployeeList.newBuilder();
+        for (int id : request.getIdsList()) {
+            if (id % 2 == 0) {
+                list.addEmployees(Employee.newBuilder().setId(id).setName("e" + id));
+            }
+        }
+        return CompletableFuture.completedFuture(list.build());
+    }
+
+    @Test
+    void fullBatchIsSentImmediatelyAndFansOut() throws Exception {
+        GetEmployeeBatcher batcher = new GetEmployeeBatcher(4, TimeUnit.SECONDS.toNanos(10), this::rpc);
+        List<CompletableFuture<Employee>> futures = new ArrayList<>();
+        for (int id = 2; id <= 8; id += 2) {
+            futures.add(batcher.get(id));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("e" + (2 + i * 2), futures.get(i).get(1, TimeUnit.SECONDS).getName());
+        }
+        assertEquals(1, requests.size());
+        assertEquals(List.of(2, 4, 6, 8), requests.get(0).getIdsList());
+        batcher.shutdown();
+    }
+
+    @Test
+    void partialBatchIsSentAfterLingerAndMissingIdsFail() throws Exception {
+        GetEmployeeBatcher batcher = new GetEmployeeBatcher(64, TimeUnit.MILLISECONDS.toNanos(5), this::rpc);
+        CompletableFuture<Employee> found = batcher.get(10);
+        CompletableFuture<Employee> missing = batcher.get(11);
+
+        assertEquals(10, found.get(1, TimeUnit.SECONDS).getId());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> missing.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(StatusRuntimeException.class, e.getCause());
+        assertEquals(Status.Code.NOT_FOUND, ((StatusRuntimeException) e.getCause()).getStatus().getCode());
+        assertEquals(1, requests.size());
+        batcher.shutdown();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.servicea;
+
+import com.example.grpc.HelloProto;
+import com.example.grpc.HelloServiceGrpc;
+import com.example.servicea.config.GrpcClientProperties;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/** Hello calls go through the same interceptor chain as employee calls. */
+class HelloClientTest {
+
+    private final AtomicReference<String> traceparent = new AtomicReference<>();
+    private InProcessServiceB serviceB;
+    private HelloClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ServerInterceptor headers = new ServerInterceptor() {
+            @Override
+            public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+                    ServerCall<ReqT, RespT> call, Metadata metadata, ServerCallHandler<ReqT, RespT> next) {
+                traceparent.set(metadata.get(TracingClientInterceptor.TRACEPARENT_KEY));
+                return next.startCall(call, metadata);
+            }
+        };
+        serviceB = new InProcessServiceB(new GrpcClientProperties(),
+                ServerInterceptors.intercept(new HelloServiceGrpc.HelloServiceImplBase() {
+                    @Override
+                    public void sayHello(HelloProto.HelloRequest request,
+                                         StreamObserver<HelloProto.HelloResponse> responseObserver) {
+                        responseObserver.onNext(HelloProto.HelloResponse.newBuilder()
+                                .setMessage("Hello, " + request.getName()).build());
+                        responseObserver.onCompleted();
+                    }
+                }, headers));
+        client = new HelloClient(serviceB.channel, serviceB.interceptors);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        serviceB.close();
+    }
+
+    @Test
+    void propagatesTraceAndRecordsMetrics() throws Exception {
+        assertEquals("Hello, Ada", client.sayHelloGrpc("Ada"));
+        assertEquals("Hello, Bob", client.sayHelloGrpcAsync("Bob").get());
+
+        assertNotNull(traceparent.get());
+        assertEquals(2, serviceB.registry.get("grpc.client.calls")
+                .tag("method", HelloServiceGrpc.getSayHelloMethod().getFullMethodName())
+                .tag("status", "OK")
+                .timer().count());
+    }
+}
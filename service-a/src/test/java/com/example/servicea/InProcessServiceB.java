@@ -0,0 +1,60 @@
+package com.example.servicea;
+
+import com.example.common.grpc.WireCapture;
+import com.example.common.grpc.WireCaptureProperties;
+import com.example.common.tracing.Tracer;
+import com.example.common.tracing.TracingProperties;
+import com.example.servicea.config.GrpcClientProperties;
+import com.example.servicea.config.PooledChannel;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * An {@link EmployeeGrpcClient} wired as in production, minus Spring, talking to {@code service}
+ * through an in-process server. Other clients can share the channel and {@link #interceptors}.
+ */
+final class InProcessServiceB implements AutoCloseable {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final Server server;
+    final PooledChannel channel;
+    final ClientInterceptorChain interceptors;
+    final EmployeeGrpcClient client;
+
+    InProcessServiceB(BindableService service) throws IOException {
+        this(service, new GrpcClientProperties());
+    }
+
+    InProcessServiceB(BindableService service, GrpcClientProperties properties) throws IOException {
+        this(properties, service.bindService());
+    }
+
+    InProcessServiceB(GrpcClientProperties properties, ServerServiceDefinition... services) throws IOException {
+        String name = "service-b-" + UUID.randomUUID();
+        InProcessServerBuilder builder = InProcessServerBuilder.forName(name);
+        for (ServerServiceDefinition service : services) {
+            builder.addService(service);
+        }
+        server = builder.build().start();
+        properties.setAddress("in-process:" + name);
+        channel = PooledChannel.create(properties);
+        interceptors = new ClientInterceptorChain(properties,
+                new WireCapture(new WireCaptureProperties()),
+                new MetricsClientInterceptor(registry),
+                new TracingClientInterceptor(new Tracer(new TracingProperties(), "service-a")));
+        client = new EmployeeGrpcClient(channel, properties, interceptors);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        client.shutdown();
+        channel.shutdown();
+        server.shutdownNow();
+    }
+}
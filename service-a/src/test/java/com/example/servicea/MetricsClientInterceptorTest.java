@@ -0,0 +1,66 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** The interceptor as EmployeeGrpcClient installs it, recording into the registry of {@link InProcessServiceB}. */
+class MetricsClientInterceptorTest {
+
+    private static final String ADD = "com.example.EmployeeService/addEmployee";
+    private static final String GET = "com.example.EmployeeService/getEmployee";
+
+    private final FakeEmployeeService service = new FakeEmployeeService();
+    private InProcessServiceB serviceB;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serviceB = new InProcessServiceB(service);
+        registry = serviceB.registry;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        serviceB.close();
+    }
+
+    @Test
+    void timesCallsByMethodAndStatus() {
+        serviceB.client.addEmployee(Employee.newBuilder().setName("Ada").build());
+        serviceB.client.getEmployee(1);
+        assertThrows(StatusRuntimeException.class, () -> serviceB.client.getEmployee(2));
+
+        assertEquals(1, registry.get("grpc.client.calls").tag("method", ADD).tag("status", "OK").timer().count());
+        assertEquals(1, registry.get("grpc.client.calls").tag("method", GET).tag("status", "OK").timer().count());
+        assertEquals(1, registry.get("grpc.client.calls").tag("method", GET).tag("status", "NOT_FOUND").timer().count());
+        assertEquals(0.0, registry.get("grpc.client.calls.in.flight").tag("method", GET).gauge().value());
+    }
+
+    @Test
+    void recordsRequestAndResponseSizes() {
+        Employee request = Employee.newBuilder().setName("Ada").setSalary(1000.0).build();
+        Employee response = serviceB.client.addEmployee(request);
+
+        DistributionSummary sent = size(ADD, "request");
+        DistributionSummary received = size(ADD, "response");
+        assertEquals(1, sent.count());
+        assertEquals(request.getSerializedSize(), sent.totalAmount());
+        assertEquals(1, received.count());
+        assertEquals(response.getSerializedSize(), received.totalAmount());
+    }
+
+    private DistributionSummary size(String method, String direction) {
+        return registry.get("grpc.client.message.size")
+                .tag("method", method)
+                .tag("direction", direction)
+                .summary();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import com.example.servicea.config.ProtobufHttpMessageConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TestControllerTest {
+
+    private final FakeEmployeeService service = new FakeEmployeeService();
+    private InProcessServiceB serviceB;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service.employees.put(1, Employee.newBuilder().setId(1).setName("Ada").build());
+        serviceB = new InProcessServiceB(service);
+        TestController controller = new TestController();
+        ReflectionTestUtils.setField(controller, "grpcClient", serviceB.client);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new ProtobufHttpMessageConverter())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        serviceB.close();
+    }
+
+    @Test
+    void projectedGrpcReadReturnsTheEmployee() throws Exception {
+        MvcResult result = mvc.perform(get("/grpc/employee/1").param("fields", "name"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Ada"));
+    }
+
+    @Test
+    void unknownFieldIsBadRequest() throws Exception {
+        MvcResult result = mvc.perform(get("/grpc/employee/1").param("fields", "nickname"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+}
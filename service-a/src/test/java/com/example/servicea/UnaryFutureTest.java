@@ -0,0 +1,62 @@
+package com.example.servicea;
+
+import com.example.Employee;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UnaryFutureTest {
+
+    @Test
+    void completesWithTheResponse() throws Exception {
+        UnaryFuture<String> future = new UnaryFuture<>();
+
+        future.onNext("response");
+        assertEquals("response", future.getNow(null));
+        future.onCompleted();
+
+        assertEquals("response", future.get());
+    }
+
+    @Test
+    void failsWithTheCallStatus() {
+        UnaryFuture<String> future = new UnaryFuture<>();
+
+        future.onError(Status.UNAVAILABLE.withDescription("down").asRuntimeException());
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(e.getCause()).getCode());
+    }
+
+    @Test
+    void onCompletedAloneLeavesTheFuturePending() {
+        UnaryFuture<String> future = new UnaryFuture<>();
+
+        future.onCompleted();
+
+        assertFalse(future.isDone());
+    }
+
+    @Test
+    void asyncClientCallsCompleteAndFailThroughIt() throws Exception {
+        FakeEmployeeService service = new FakeEmployeeService();
+        service.employees.put(1, Employee.newBuilder().setId(1).setName("Ada").build());
+        try (InProcessServiceB serviceB = new InProcessServiceB(service)) {
+            assertEquals("Ada", serviceB.client.getEmployeeAsync(1).get(5, TimeUnit.SECONDS).getName());
+
+            CompletableFuture<Employee> missing = serviceB.client.getEmployeeAsync(2);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+            StatusRuntimeException cause = assertInstanceOf(StatusRuntimeException.class, e.getCause());
+            assertEquals(Status.Code.NOT_FOUND, cause.getStatus().getCode());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.servicea.config;
+
+import io.grpc.Attributes;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeastOutstandingLoadBalancerTest {
+
+    @Test
+    void countsStreamsFromCreationToClose() {
+        LoadBalancer.Helper helper = mock(LoadBalancer.Helper.class);
+        LoadBalancer.Subchannel subchannel = mock(LoadBalancer.Subchannel.class);
+        when(helper.createSubchannel(any())).thenReturn(subchannel);
+        LeastOutstandingLoadBalancer balancer = new LeastOutstandingLoadBalancer(helper);
+
+        balancer.acceptResolvedAddresses(LoadBalancer.ResolvedAddresses.newBuilder()
+                .setAddresses(List.of(new EquivalentAddressGroup(new InetSocketAddress("localhost", 9090))))
+                .build());
+        ArgumentCaptor<LoadBalancer.SubchannelStateListener> listener =
+                ArgumentCaptor.forClass(LoadBalancer.SubchannelStateListener.class);
+        verify(subchannel).start(listener.capture());
+        listener.getValue().onSubchannelState(ConnectivityStateInfo.forNonError(ConnectivityState.READY));
+        ArgumentCaptor<LoadBalancer.SubchannelPicker> picker = ArgumentCaptor.forClass(LoadBalancer.SubchannelPicker.class);
+        verify(helper, atLeastOnce()).updateBalancingState(eq(ConnectivityState.READY), picker.capture());
+
+        // A pick never turned into a stream, e.g. superseded by a newer picker, counts for nothing
+        LoadBalancer.PickResult pick = picker.getValue().pickSubchannel(mock(LoadBalancer.PickSubchannelArgs.class));
+        assertEquals(0, balancer.outstanding(subchannel));
+
+        ClientStreamTracer stream = newTracer(pick);
+        stream.streamCreated(Attributes.EMPTY, new Metadata());
+        assertEquals(1, balancer.outstanding(subchannel));
+        stream.streamClosed(Status.OK);
+        assertEquals(0, balancer.outstanding(subchannel));
+
+        // Closed without ever being created, as when the transport fails first
+        newTracer(pick).streamClosed(Status.UNAVAILABLE);
+        assertEquals(0, balancer.outstanding(subchannel));
+    }
+
+    private static ClientStreamTracer newTracer(LoadBalancer.PickResult pick) {
+        return pick.getStreamTracerFactory().newClientStreamTracer(
+                ClientStreamTracer.StreamInfo.newBuilder().build(), new Metadata());
+    }
+}
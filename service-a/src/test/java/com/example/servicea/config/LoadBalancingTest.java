@@ -0,0 +1,99 @@
+package com.example.servicea.config;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import io.grpc.Server;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three localhost backends behind one {@code static://} target: calls must reach all of them,
+ * and a backend whose health turns NOT_SERVING must stop receiving calls.
+ */
+class LoadBalancingTest {
+
+    private static final int BACKENDS = 3;
+
+    private final List<Server> servers = new ArrayList<>();
+    private final List<HealthStatusManager> health = new ArrayList<>();
+    private final Map<Integer, Integer> hits = new ConcurrentHashMap<>();
+    private PooledChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < BACKENDS; i++) {
+            int backend = i;
+            HealthStatusManager manager = new HealthStatusManager();
+            servers.add(NettyServerBuilder.forPort(0)
+                    .addService(new EmployeeServiceGrpc.EmployeeServiceImplBase() {
+                        @Override
+                        public void getEmployee(GetEmployeeRequest request, StreamObserver<Employee> observer) {
+                            hits.merge(backend, 1, Integer::sum);
+                            observer.onNext(Employee.newBuilder().setId(backend).build());
+                            observer.onCompleted();
+                        }
+                    })
+                    .addService(manager.getHealthService())
+                    .build()
+                    .start());
+            health.add(manager);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (channel != null) {
+            channel.shutdown();
+        }
+        for (Server server : servers) {
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"round_robin", "least_outstanding"})
+    void spreadsCallsAndEjectsUnhealthyBackends(String policy) throws Exception {
+        StringJoiner address = new StringJoiner(",", "static://", "");
+        for (Server server : servers) {
+            address.add("localhost:" + server.getPort());
+        }
+        GrpcClientProperties properties = new GrpcClientProperties();
+        properties.setAddress(address.toString());
+        properties.setLoadBalancingPolicy(policy);
+        channel = PooledChannel.create(properties);
+        EmployeeServiceGrpc.EmployeeServiceBlockingStub stub = EmployeeServiceGrpc.newBlockingStub(channel);
+        GetEmployeeRequest request = GetEmployeeRequest.getDefaultInstance();
+
+        // Subchannels connect independently; keep calling until every backend has taken traffic
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (hits.size() < BACKENDS && System.nanoTime() < deadline) {
+            stub.getEmployee(request);
+        }
+        assertEquals(BACKENDS, hits.size());
+
+        health.get(0).setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, ServingStatus.NOT_SERVING);
+        // The health watch is a stream, so ejection follows within a few calls
+        int consecutiveElsewhere = 0;
+        while (consecutiveElsewhere < 50 && System.nanoTime() < deadline) {
+            consecutiveElsewhere = stub.getEmployee(request).getId() == 0 ? 0 : consecutiveElsewhere + 1;
+        }
+        assertTrue(consecutiveElsewhere >= 50, "unhealthy backend kept receiving calls");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.servicea.config;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** One backend; each sub-channel of the pool opens its own connection to it. */
+class PooledChannelTest {
+
+    private final List<SocketAddress> callers = new CopyOnWriteArrayList<>();
+    private Server server;
+    private PooledChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ServerInterceptor recordCaller = new ServerInterceptor() {
+            @Override
+            public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+                    ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+                callers.add(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR));
+                return next.startCall(call, headers);
+            }
+        };
+        server = NettyServerBuilder.forPort(0)
+                .addService(ServerInterceptors.intercept(new EmployeeServiceGrpc.EmployeeServiceImplBase() {
+                    @Override
+                    public void getEmployee(GetEmployeeRequest request, StreamObserver<Employee> observer) {
+                        observer.onNext(Employee.newBuilder().setId(request.getId()).build());
+                        observer.onCompleted();
+                    }
+                }, recordCaller))
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (channel != null) {
+            channel.shutdown();
+        }
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void callsRotateAcrossTheSubChannelConnections() {
+        GrpcClientProperties properties = new GrpcClientProperties();
+        properties.setAddress("static://localhost:" + server.getPort());
+        properties.setPoolSize(3);
+        properties.setHealthCheckEnabled(false);
+        channel = PooledChannel.create(properties);
+        EmployeeServiceGrpc.EmployeeServiceBlockingStub stub = EmployeeServiceGrpc.newBlockingStub(channel);
+
+        for (int i = 1; i <= 9; i++) {
+            stub.getEmployee(GetEmployeeRequest.newBuilder().setId(i).build());
+        }
+
+        // Three connections, used in turn: every third call comes from the same one
+        assertEquals(3, callers.stream().distinct().count());
+        for (int i = 3; i < callers.size(); i++) {
+            assertEquals(callers.get(i - 3), callers.get(i));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.servicea.config;
+
+import com.example.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProtobufHttpMessageConverterTest {
+
+    private final ProtobufHttpMessageConverter converter = new ProtobufHttpMessageConverter();
+    private final Employee employee = Employee.newBuilder().setId(7).setName("Ada").build();
+
+    @Test
+    void writesJsonWhenTheClientAcceptsAnything() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(employee, MediaType.ALL, output);
+
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+        assertTrue(output.getBodyAsString().contains("\"name\":\"Ada\""));
+    }
+
+    @Test
+    void binaryContentTypeCarriesNoCharset() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(employee, ProtobufHttpMessageConverter.PROTOBUF, output);
+
+        assertEquals(ProtobufHttpMessageConverter.PROTOBUF, output.getHeaders().getContentType());
+        assertEquals(employee.getSerializedSize(), output.getHeaders().getContentLength());
+        assertEquals(employee, Employee.parseFrom(output.getBodyAsBytes()));
+    }
+
+    @Test
+    void readsBothFormats() throws IOException {
+        MockHttpInputMessage json = new MockHttpInputMessage("{\"id\":7,\"name\":\"Ada\"}".getBytes());
+        json.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        MockHttpInputMessage binary = new MockHttpInputMessage(employee.toByteArray());
+        binary.getHeaders().setContentType(ProtobufHttpMessageConverter.PROTOBUF);
+
+        assertEquals(employee, converter.read(Employee.class, json));
+        assertEquals(employee, converter.read(Employee.class, binary));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.servicea.config;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaticNameResolverProviderTest {
+
+    private final StaticNameResolverProvider provider = new StaticNameResolverProvider();
+    private final SynchronizationContext syncContext = new SynchronizationContext((t, e) -> {
+        throw new AssertionError(e);
+    });
+    private final Queue<Runnable> offloaded = new ArrayDeque<>();
+    private final NameResolver.Args args = NameResolver.Args.newBuilder()
+            .setDefaultPort(443)
+            .setProxyDetector(address -> null)
+            .setSynchronizationContext(syncContext)
+            .setServiceConfigParser(new NameResolver.ServiceConfigParser() {
+                @Override
+                public NameResolver.ConfigOrError parseServiceConfig(Map<String, ?> rawServiceConfig) {
+                    return null;
+                }
+            })
+            .setOffloadExecutor(offloaded::add)
+            .build();
+    private final AtomicReference<List<EquivalentAddressGroup>> addresses = new AtomicReference<>();
+    private final AtomicReference<Status> error = new AtomicReference<>();
+
+    @Test
+    void looksHostsUpOnTheOffloadExecutor() {
+        start("static://localhost:1234,localhost:5678");
+        assertNull(addresses.get());
+        assertEquals(1, offloaded.size());
+
+        offloaded.remove().run();
+
+        List<EquivalentAddressGroup> groups = addresses.get();
+        assertNotNull(groups);
+        assertEquals(2, groups.size());
+        assertEquals(1234, ((InetSocketAddress) groups.get(0).getAddresses().get(0)).getPort());
+        assertEquals(5678, ((InetSocketAddress) groups.get(1).getAddresses().get(0)).getPort());
+    }
+
+    @Test
+    void invalidPortIsReportedAsInvalidArgument() {
+        start("static://localhost:http");
+        offloaded.remove().run();
+
+        assertNull(addresses.get());
+        assertEquals(Status.Code.INVALID_ARGUMENT, error.get().getCode());
+    }
+
+    @Test
+    void neverClaimsBareTargets() {
+        assertTrue(provider.priority() < 5, "must rank below the built-in DNS provider");
+        assertNull(provider.newNameResolver(URI.create("static:/localhost:1234"), args));
+    }
+
+    private void start(String target) {
+        NameResolver resolver = provider.newNameResolver(URI.create(target), args);
+        syncContext.execute(() -> resolver.start(new NameResolver.Listener2() {
+            @Override
+            public void onResult(NameResolver.ResolutionResult result) {
+                addresses.set(result.getAddressesOrError().getValue());
+            }
+
+            @Override
+            public void onError(Status status) {
+                error.set(status);
+            }
+        }));
+    }
+}
@@ -1,8 +1,12 @@
 package org.example.serviceb.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.Map;
 
+// Null fields are the ones left out by a fields= projection
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record EmployeeDto(
         int id,
         String name,
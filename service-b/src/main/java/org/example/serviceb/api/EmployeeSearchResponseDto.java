@@ -0,0 +1,9 @@
+package org.example.serviceb.api;
+
+import java.util.List;
+
+// nextPageToken is empty on the last page
+public record EmployeeSearchResponseDto(
+        List<EmployeeDto> employees,
+        String nextPageToken
+) {}
@@ -0,0 +1,51 @@
+package org.example.serviceb.grpc;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit driven by call latency.
+ *
+ * <p>The lowest latency seen recently stands in for the no-load latency. A sample slower than
+ * {@code tolerance} times that baseline, or a call that timed out, means requests are queueing,
+ * so the limit is cut by {@code backoffRatio}. Otherwise it grows by one, but only while the
+ * server is actually using at least half of it, so an idle server does not inflate its limit.
+ */
+final class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final int baselineWindow;
+
+    private volatile int limit;
+    private long baselineNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double tolerance, int baselineWindow) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.baselineWindow = baselineWindow;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    synchronized void onSample(long latencyNanos, int inFlight, boolean timedOut) {
+        // Restart the baseline now and then so it follows genuine shifts, e.g. a larger dataset
+        if (++samplesSinceReset >= baselineWindow) {
+            samplesSinceReset = 0;
+            baselineNanos = latencyNanos;
+        } else if (!timedOut) {
+            baselineNanos = Math.min(baselineNanos, latencyNanos);
+        }
+
+        if (timedOut || latencyNanos > tolerance * baselineNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.serviceb.grpc;
+
+import com.example.common.grpc.Codecs;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Response compression for {@link CompressionServerInterceptor}, bound from {@code grpc.server.compression}.
+ */
+@ConfigurationProperties(prefix = "grpc.server.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+    /** Encoding for methods not listed in {@code methods}: identity, gzip or snappy. */
+    private String codec = Codecs.IDENTITY;
+    /** Encoding per full method name, e.g. {@code com.example.EmployeeService/getAllEmployees=snappy}. */
+    private Map<String, String> methods = new HashMap<>();
+    /** Smaller responses go out uncompressed, since compressing them costs more CPU than it saves bandwidth. */
+    private DataSize minSize = DataSize.ofKilobytes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public Map<String, String> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(Map<String, String> methods) {
+        this.methods = methods;
+    }
+
+    public DataSize getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(DataSize minSize) {
+        this.minSize = minSize;
+    }
+}
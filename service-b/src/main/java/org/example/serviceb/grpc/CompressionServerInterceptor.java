@@ -0,0 +1,59 @@
+package org.example.serviceb.grpc;
+
+import com.example.common.grpc.Codecs;
+import com.google.protobuf.MessageLite;
+import io.grpc.*;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compresses responses of the configured methods, message by message: only those of at least
+ * {@code grpc.server.compression.min-size} are compressed, so a small getEmployee never pays for
+ * it while large EmployeeList pages and streamed batches do. The codec is offered per call and
+ * falls back to identity when the client does not accept it.
+ */
+@Component
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionServerInterceptor implements ServerInterceptor {
+
+    private final boolean enabled;
+    private final String defaultCodec;
+    private final Map<String, String> methodCodecs = new HashMap<>();
+    private final long minSize;
+
+    public CompressionServerInterceptor(CompressionProperties properties) {
+        this.enabled = properties.isEnabled();
+        // Fail at startup on a misspelt codec rather than on the first call
+        this.defaultCodec = Codecs.forName(properties.getCodec()).getMessageEncoding();
+        properties.getMethods().forEach((method, codec) ->
+                methodCodecs.put(method, Codecs.forName(codec).getMessageEncoding()));
+        this.minSize = properties.getMinSize().toBytes();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        String codec = enabled
+                ? methodCodecs.getOrDefault(call.getMethodDescriptor().getFullMethodName(), defaultCodec)
+                : Codecs.IDENTITY;
+        if (codec.equals(Codecs.IDENTITY)) {
+            return next.startCall(call, headers);
+        }
+        // Must precede the response headers, which announce the encoding
+        call.setCompression(codec);
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                // Protobuf memoizes the size, so the marshaller does not compute it again
+                setMessageCompression(!(message instanceof MessageLite ml) || ml.getSerializedSize() >= minSize);
+                super.sendMessage(message);
+            }
+        }, headers);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.serviceb.grpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings for {@link ConcurrencyLimitServerInterceptor}, bound from {@code grpc.server.concurrency-limit}.
+ */
+@ConfigurationProperties(prefix = "grpc.server.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 100;
+    private int minLimit = 10;
+    private int maxLimit = 2000;
+    private double backoffRatio = 0.9;
+    /** Latency above this multiple of the baseline counts as overload. */
+    private double tolerance = 2.0;
+    /** Samples after which the baseline latency is re-measured. */
+    private int baselineWindow = 1000;
+    /**
+     * Percentage of the limit each method may occupy, keyed by full method name; unlisted
+     * methods get 100. Lower shares are shed first as load rises.
+     */
+    private Map<String, Integer> methodShares = new HashMap<>();
+    /** Full method names never limited, for open-ended streams that would otherwise hold a slot forever. */
+    private Set<String> exemptMethods = new HashSet<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public int getBaselineWindow() {
+        return baselineWindow;
+    }
+
+    public void setBaselineWindow(int baselineWindow) {
+        this.baselineWindow = baselineWindow;
+    }
+
+    public Map<String, Integer> getMethodShares() {
+        return methodShares;
+    }
+
+    public void setMethodShares(Map<String, Integer> methodShares) {
+        this.methodShares = methodShares;
+    }
+
+    public Set<String> getExemptMethods() {
+        return exemptMethods;
+    }
+
+    public void setExemptMethods(Set<String> exemptMethods) {
+        this.exemptMethods = exemptMethods;
+    }
+}
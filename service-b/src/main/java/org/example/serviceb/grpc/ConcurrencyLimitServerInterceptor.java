@@ -0,0 +1,142 @@
+package org.example.serviceb.grpc;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load shedding in front of the service handlers. Calls beyond the adaptive {@link AimdLimit}
+ * (scaled by the method's share) fail fast with RESOURCE_EXHAUSTED instead of queueing, and
+ * calls whose deadline passed while they waited for a thread are dropped without running.
+ * Only unary calls feed latency samples; long-lived streams would read as overload.
+ */
+@Component
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitServerInterceptor implements ServerInterceptor {
+
+    private static final ServerCall.Listener<?> NOOP_LISTENER = new ServerCall.Listener<>() { };
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry registry;
+    private final AimdLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<String, MethodState> methods = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitServerInterceptor(ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.limit = new AimdLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getBackoffRatio(), properties.getTolerance(), properties.getBaselineWindow());
+        Gauge.builder("grpc.server.concurrency.limit", limit, AimdLimit::getLimit).register(registry);
+        Gauge.builder("grpc.server.concurrency.in.flight", inFlight, AtomicInteger::get).register(registry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        if (!properties.isEnabled()
+                || properties.getExemptMethods().contains(call.getMethodDescriptor().getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+        MethodState method = methods.computeIfAbsent(
+                call.getMethodDescriptor().getFullMethodName(), MethodState::new);
+
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            method.shedDeadline.increment();
+            call.close(Status.DEADLINE_EXCEEDED.withDescription("Deadline expired before the call started"),
+                    new Metadata());
+            return (ServerCall.Listener<ReqT>) NOOP_LISTENER;
+        }
+
+        int current = inFlight.incrementAndGet();
+        if (current > limit.getLimit() * method.share) {
+            inFlight.decrementAndGet();
+            method.shedLimit.increment();
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Server concurrency limit reached"), new Metadata());
+            return (ServerCall.Listener<ReqT>) NOOP_LISTENER;
+        }
+
+        Permit permit = new Permit(call.getMethodDescriptor().getType() == MethodDescriptor.MethodType.UNARY);
+        ServerCall<ReqT, RespT> limitedCall = new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                permit.release(status.getCode() == Status.Code.DEADLINE_EXCEEDED);
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(limitedCall, headers);
+        } catch (RuntimeException e) {
+            permit.release(false);
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onCancel() {
+                // A cancel caused by our own deadline is a timeout; a client hanging up is not
+                permit.release(deadline != null && deadline.isExpired());
+                super.onCancel();
+            }
+        };
+    }
+
+    /** One admitted call; released exactly once, on close or cancel. */
+    private final class Permit extends AtomicBoolean {
+        private final boolean sampled;
+        private final long start = System.nanoTime();
+
+        Permit(boolean sampled) {
+            this.sampled = sampled;
+        }
+
+        void release(boolean timedOut) {
+            if (compareAndSet(false, true)) {
+                int before = inFlight.getAndDecrement();
+                if (sampled) {
+                    limit.onSample(System.nanoTime() - start, before, timedOut);
+                }
+            }
+        }
+    }
+
+    private final class MethodState {
+        private final double share;
+        private final Counter shedLimit;
+        private final Counter shedDeadline;
+
+        MethodState(String method) {
+            this.share = properties.getMethodShares().getOrDefault(method, 100) / 100.0;
+            this.shedLimit = shed(method, "limit");
+            this.shedDeadline = shed(method, "deadline");
+        }
+
+        private Counter shed(String method, String reason) {
+            return Counter.builder("grpc.server.calls.shed")
+                    .tag("method", method)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+    }
+}
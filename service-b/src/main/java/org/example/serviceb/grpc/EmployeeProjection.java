@@ -0,0 +1,100 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.google.protobuf.FieldMask;
+
+import java.util.Map;
+
+/**
+ * Top-level field selection for {@link Employee} responses, from a gRPC {@link FieldMask} or a
+ * REST {@code fields=} parameter. Projections copy only the selected fields into a new message,
+ * so excluded ones such as {@code profilePicture} are never touched; the full projection returns
+ * the stored instance unchanged. The id is always included, as in the REST responses, whether or
+ * not it is listed.
+ */
+final class EmployeeProjection {
+
+    private static final Map<String, Integer> FIELD_NUMBERS = Map.of(
+            "id", Employee.ID_FIELD_NUMBER,
+            "name", Employee.NAME_FIELD_NUMBER,
+            "salary", Employee.SALARY_FIELD_NUMBER,
+            "departments", Employee.DEPARTMENTS_FIELD_NUMBER,
+            "addressMap", Employee.ADDRESSMAP_FIELD_NUMBER,
+            "isActive", Employee.ISACTIVE_FIELD_NUMBER,
+            "profilePicture", Employee.PROFILEPICTURE_FIELD_NUMBER,
+            "joinDate", Employee.JOINDATE_FIELD_NUMBER);
+
+    static final EmployeeProjection ALL = new EmployeeProjection(-1);
+
+    private final int fields;
+
+    private EmployeeProjection(int fields) {
+        this.fields = fields;
+    }
+
+    /** @throws IllegalArgumentException for unknown or nested paths */
+    static EmployeeProjection of(FieldMask mask) {
+        if (mask.getPathsCount() == 0) {
+            return ALL;
+        }
+        int fields = 0;
+        for (String path : mask.getPathsList()) {
+            fields |= bit(path);
+        }
+        return new EmployeeProjection(fields);
+    }
+
+    /** Parses a comma-separated field list; {@code null} or blank selects all fields. */
+    static EmployeeProjection parse(String fieldList) {
+        if (fieldList == null || fieldList.isBlank()) {
+            return ALL;
+        }
+        int fields = 0;
+        for (String path : fieldList.split(",")) {
+            fields |= bit(path.trim());
+        }
+        return new EmployeeProjection(fields);
+    }
+
+    private static int bit(String path) {
+        Integer number = FIELD_NUMBERS.get(path);
+        if (number == null) {
+            throw new IllegalArgumentException("Unsupported employee field path: " + path);
+        }
+        return 1 << number;
+    }
+
+    boolean includes(int fieldNumber) {
+        return (fields & (1 << fieldNumber)) != 0;
+    }
+
+    Employee apply(Employee e) {
+        if (this == ALL) {
+            return e;
+        }
+        Employee.Builder b = Employee.newBuilder().setId(e.getId());
+        if (includes(Employee.NAME_FIELD_NUMBER)) {
+            b.setName(e.getName());
+        }
+        if (includes(Employee.SALARY_FIELD_NUMBER)) {
+            b.setSalary(e.getSalary());
+        }
+        if (includes(Employee.DEPARTMENTS_FIELD_NUMBER)) {
+            b.addAllDepartments(e.getDepartmentsList());
+        }
+        if (includes(Employee.ADDRESSMAP_FIELD_NUMBER)) {
+            b.putAllAddressMap(e.getAddressMapMap());
+        }
+        if (includes(Employee.ISACTIVE_FIELD_NUMBER)) {
+            b.setIsActive(e.getIsActive());
+        }
+        if (includes(Employee.PROFILEPICTURE_FIELD_NUMBER)) {
+            // ByteString is immutable, so this shares the stored bytes rather than copying them
+            b.setProfilePicture(e.getProfilePicture());
+        }
+        if (includes(Employee.JOINDATE_FIELD_NUMBER) && e.hasJoinDate()) {
+            b.setJoinDate(e.getJoinDate());
+        }
+        return b.build();
+    }
+}
@@ -0,0 +1,423 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeList;
+import com.google.protobuf.ByteOutput;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import jakarta.annotation.PreDestroy;
+import org.example.serviceb.repository.EmployeeChange;
+import org.example.serviceb.repository.EmployeeChangeFeed;
+import org.example.serviceb.repository.EmployeeRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the wire encoding of stored employees so responses that return them unchanged are
+ * written to the transport as cached bytes instead of being re-encoded on every call.
+ *
+ * <p>{@link #bind} swaps the response marshaller of every method returning {@link Employee} or
+ * {@link EmployeeList}. The marshaller recognises the exact instance the repository holds; any
+ * other message, such as a field-mask projection, goes through the default protobuf marshaller.
+ * Entries are keyed by id and remember the instance they encode. Stored records are immutable
+ * and a write replaces the instance, so an entry whose instance is no longer the stored one is
+ * stale. Every write is seen on the repository's {@link EmployeeChangeFeed}, which drops the
+ * entry for that id straight away.
+ *
+ * <p>The budget is kept by a second-chance sweep in insertion order: once the held bytes exceed
+ * {@code max-size}, the oldest entries not read since the sweep last passed them are evicted, so
+ * new records keep being cached and records nobody reads age out.
+ *
+ * <p>Entries hold the record already framed as an {@code EmployeeList} element (tag, length,
+ * body). A single employee is a view of the body. A list is the sequence of framed entries, so
+ * {@code getAllEmployees} costs one reference per employee, not a pass over every byte. Both are
+ * drained with {@link UnsafeByteOperations#unsafeWriteTo}: {@link ByteString#writeTo(OutputStream)}
+ * copies each array before writing it, which would allocate the whole response again per call.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class EmployeeResponseCache {
+
+    private static final MethodDescriptor.Marshaller<Employee> EMPLOYEE =
+            ProtoUtils.marshaller(Employee.getDefaultInstance());
+    private static final MethodDescriptor.Marshaller<EmployeeList> EMPLOYEE_LIST =
+            ProtoUtils.marshaller(EmployeeList.getDefaultInstance());
+
+    private final EmployeeRepository repository;
+    private final ResponseCacheProperties properties;
+    private final long maxBytes;
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    /** Every entry whose bytes are counted, oldest first, including ones already invalidated. */
+    private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean invalidating = new AtomicBoolean();
+    private volatile EmployeeChangeFeed.Subscription changes;
+    private final MethodDescriptor.Marshaller<Employee> employeeMarshaller = new EmployeeMarshaller();
+    private final MethodDescriptor.Marshaller<EmployeeList> employeeListMarshaller = new EmployeeListMarshaller();
+
+    public EmployeeResponseCache(EmployeeRepository repository, ResponseCacheProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.maxBytes = properties.getMaxSize().toBytes();
+        if (properties.isEnabled()) {
+            EmployeeChangeFeed feed = repository.changes();
+            this.changes = feed.subscribe(feed.lastSequence(), this::invalidate);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (changes != null) {
+            changes.close();
+        }
+    }
+
+    /** Returns {@code service} with cached marshallers for its Employee and EmployeeList responses. */
+    public ServerServiceDefinition bind(ServerServiceDefinition service) {
+        if (!properties.isEnabled()) {
+            return service;
+        }
+        ServiceDescriptor original = service.getServiceDescriptor();
+        ServiceDescriptor.Builder descriptor = ServiceDescriptor.newBuilder(original.getName())
+                .setSchemaDescriptor(original.getSchemaDescriptor());
+        List<ServerMethodDefinition<?, ?>> methods = new ArrayList<>();
+        for (ServerMethodDefinition<?, ?> method : service.getMethods()) {
+            ServerMethodDefinition<?, ?> rebound = rebind(method);
+            descriptor.addMethod(rebound.getMethodDescriptor());
+            methods.add(rebound);
+        }
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptor.build());
+        for (ServerMethodDefinition<?, ?> method : methods) {
+            builder.addMethod(method);
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> rebind(ServerMethodDefinition<ReqT, RespT> method) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        if (!(descriptor.getResponseMarshaller() instanceof MethodDescriptor.PrototypeMarshaller<RespT> proto)) {
+            return method;
+        }
+        MethodDescriptor.Marshaller<?> marshaller;
+        if (proto.getMessagePrototype() instanceof Employee) {
+            marshaller = employeeMarshaller;
+        } else if (proto.getMessagePrototype() instanceof EmployeeList) {
+            marshaller = employeeListMarshaller;
+        } else {
+            return method;
+        }
+        return ServerMethodDefinition.create(
+                descriptor.toBuilder()
+                        .setResponseMarshaller((MethodDescriptor.Marshaller<RespT>) marshaller)
+                        .build(),
+                method.getServerCallHandler());
+    }
+
+    public MethodDescriptor.Marshaller<Employee> employeeMarshaller() {
+        return employeeMarshaller;
+    }
+
+    public MethodDescriptor.Marshaller<EmployeeList> employeeListMarshaller() {
+        return employeeListMarshaller;
+    }
+
+    /** Bytes currently held, including invalidated entries the sweep has not reached yet. */
+    public long size() {
+        return bytes.get();
+    }
+
+    /** Whether the encoding of this exact instance is cached. */
+    boolean contains(Employee employee) {
+        Entry cached = entries.get(employee.getId());
+        return cached != null && cached.employee == employee;
+    }
+
+    /** The encoding of {@code employee} if it is the stored record, cached as it goes; else null. */
+    private Entry entry(Employee employee) {
+        int id = employee.getId();
+        Entry cached = entries.get(id);
+        if (cached != null && cached.employee == employee) {
+            cached.referenced = true;
+            return cached;
+        }
+        if (repository.findById(id) != employee) {
+            return null;
+        }
+        Entry fresh = Entry.encode(employee);
+        if (fresh.framed.size() > maxBytes) {
+            return fresh;
+        }
+        if (cached == null ? entries.putIfAbsent(id, fresh) == null : entries.replace(id, cached, fresh)) {
+            bytes.addAndGet(fresh.framed.size());
+            clock.add(fresh);
+            // A write between the lookup above and the insert was invalidated before the entry existed
+            if (repository.findById(id) != employee) {
+                entries.remove(id, fresh);
+            }
+            evict();
+        }
+        return fresh;
+    }
+
+    /**
+     * Second-chance sweep: drops the oldest entries until the held bytes fit the budget, sparing
+     * once those read since the sweep last passed them. Concurrent inserts may overshoot the
+     * budget briefly; it is a soft limit.
+     */
+    private void evict() {
+        Entry firstSpared = null;
+        while (bytes.get() > maxBytes) {
+            Entry oldest = clock.poll();
+            if (oldest == null) {
+                return;
+            }
+            boolean live = entries.get(oldest.employee.getId()) == oldest;
+            // Meeting the first spared entry again means every entry has had its second chance
+            if (live && oldest.referenced && oldest != firstSpared) {
+                oldest.referenced = false;
+                if (firstSpared == null) {
+                    firstSpared = oldest;
+                }
+                clock.add(oldest);
+                continue;
+            }
+            if (live) {
+                entries.remove(oldest.employee.getId(), oldest);
+            }
+            bytes.addAndGet(-oldest.framed.size());
+        }
+    }
+
+    /**
+     * Drops the entries of every id written since the last call. Runs on a writer's thread after
+     * each publish; whichever writer gets here first drains for the others, so none of them waits.
+     */
+    private void invalidate() {
+        EmployeeChangeFeed feed = repository.changes();
+        // Null only while the constructor subscribes, when there is nothing cached to drop
+        while (changes != null && invalidating.compareAndSet(false, true)) {
+            try {
+                EmployeeChangeFeed.Subscription subscription = changes;
+                if (subscription.lost()) {
+                    // Too far behind to know which ids changed
+                    subscription.close();
+                    changes = feed.subscribe(feed.lastSequence(), this::invalidate);
+                    entries.clear();
+                    continue;
+                }
+                for (EmployeeChange change = subscription.next(); change != null; change = subscription.next()) {
+                    entries.remove(change.employee().getId());
+                }
+            } finally {
+                invalidating.set(false);
+            }
+            // A publish while draining found the flag set and left its changes to this thread
+            if (changes.position() >= feed.lastSequence()) {
+                return;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Employee employee;
+        final ByteString framed;
+        final int headerLength;
+        /** Set on every hit, cleared when the eviction sweep spares the entry. */
+        volatile boolean referenced;
+
+        private Entry(Employee employee, ByteString framed, int headerLength) {
+            this.employee = employee;
+            this.framed = framed;
+            this.headerLength = headerLength;
+        }
+
+        static Entry encode(Employee employee) {
+            int size = employee.getSerializedSize();
+            int headerLength = CodedOutputStream.computeTagSize(EmployeeList.EMPLOYEES_FIELD_NUMBER)
+                    + CodedOutputStream.computeUInt32SizeNoTag(size);
+            byte[] buffer = new byte[headerLength + size];
+            CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+            try {
+                out.writeMessage(EmployeeList.EMPLOYEES_FIELD_NUMBER, employee);
+            } catch (IOException e) {
+                throw new IllegalStateException("Writing to a sized array cannot fail", e);
+            }
+            out.checkNoSpaceLeft();
+            // The buffer is never written again, so it can back the ByteString without a copy
+            return new Entry(employee, UnsafeByteOperations.unsafeWrap(buffer), headerLength);
+        }
+
+        ByteString body() {
+            return framed.substring(headerLength);
+        }
+    }
+
+    private final class EmployeeMarshaller implements MethodDescriptor.PrototypeMarshaller<Employee> {
+        @Override
+        public InputStream stream(Employee value) {
+            Entry entry = entry(value);
+            return entry == null ? EMPLOYEE.stream(value) : new ByteStringStream(List.of(entry.body()));
+        }
+
+        @Override
+        public Employee parse(InputStream stream) {
+            return EMPLOYEE.parse(stream);
+        }
+
+        @Override
+        public Employee getMessagePrototype() {
+            return Employee.getDefaultInstance();
+        }
+
+        @Override
+        public Class<Employee> getMessageClass() {
+            return Employee.class;
+        }
+    }
+
+    private final class EmployeeListMarshaller implements MethodDescriptor.PrototypeMarshaller<EmployeeList> {
+        @Override
+        public InputStream stream(EmployeeList value) {
+            List<ByteString> parts = new ArrayList<>(value.getEmployeesCount());
+            for (Employee employee : value.getEmployeesList()) {
+                Entry entry = entry(employee);
+                if (entry == null) {
+                    // Projected or stale: nothing to reuse, encode the whole list as usual
+                    return EMPLOYEE_LIST.stream(value);
+                }
+                parts.add(entry.framed);
+            }
+            // EmployeeList has no other fields, so its encoding is exactly the framed elements
+            return new ByteStringStream(parts);
+        }
+
+        @Override
+        public EmployeeList parse(InputStream stream) {
+            return EMPLOYEE_LIST.parse(stream);
+        }
+
+        @Override
+        public EmployeeList getMessagePrototype() {
+            return EmployeeList.getDefaultInstance();
+        }
+
+        @Override
+        public Class<EmployeeList> getMessageClass() {
+            return EmployeeList.class;
+        }
+    }
+
+    /**
+     * Cached bytes as a message stream. The transport drains it straight into its write buffer;
+     * the in-process transport and wire capture read it like any stream.
+     */
+    private static final class ByteStringStream extends InputStream implements Drainable, KnownLength {
+        private final List<ByteString> parts;
+        private final int size;
+        private InputStream in;
+        private boolean drained;
+
+        ByteStringStream(List<ByteString> parts) {
+            this.parts = parts;
+            int size = 0;
+            for (ByteString part : parts) {
+                size += part.size();
+            }
+            this.size = size;
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            if (in == null && !drained) {
+                drained = true;
+                // The transport copies into its own buffers, so it may be handed the cached arrays
+                ByteOutput output = new StreamByteOutput(target);
+                for (ByteString part : parts) {
+                    UnsafeByteOperations.unsafeWriteTo(part, output);
+                }
+                return size;
+            }
+            return drained ? 0 : (int) in.transferTo(target);
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (drained) {
+                return 0;
+            }
+            return in == null ? size : in.available();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return drained ? -1 : input().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return drained ? -1 : input().read(b, off, len);
+        }
+
+        private InputStream input() {
+            if (in == null) {
+                in = ByteString.copyFrom(parts).newInput();
+            }
+            return in;
+        }
+    }
+
+    /** Writes straight through to {@code out}; lazy writes are safe because the bytes are never modified. */
+    private static final class StreamByteOutput extends ByteOutput {
+        private final OutputStream out;
+
+        StreamByteOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(byte value) throws IOException {
+            out.write(value);
+        }
+
+        @Override
+        public void write(byte[] value, int offset, int length) throws IOException {
+            out.write(value, offset, length);
+        }
+
+        @Override
+        public void writeLazy(byte[] value, int offset, int length) throws IOException {
+            out.write(value, offset, length);
+        }
+
+        @Override
+        public void write(ByteBuffer value) throws IOException {
+            Channels.newChannel(out).write(value.duplicate());
+        }
+
+        @Override
+        public void writeLazy(ByteBuffer value) throws IOException {
+            write(value);
+        }
+    }
+}
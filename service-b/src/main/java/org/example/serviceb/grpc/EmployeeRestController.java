@@ -5,47 +5,58 @@ import com.example.Department;
 import com.example.Employee;
 import org.example.serviceb.api.DepartmentDto;
 import org.example.serviceb.api.EmployeeDto;
+import org.example.serviceb.api.EmployeeSearchResponseDto;
+import org.example.serviceb.repository.EmployeeQuery;
+import org.example.serviceb.repository.EmployeeRepository;
+import org.example.serviceb.repository.EmployeeSearchResult;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @RestController
 public class EmployeeRestController {
 
-    private final List<Employee> employees = new CopyOnWriteArrayList<>();
+    // Same store the gRPC service reads, so both APIs see the same data
+    private final EmployeeRepository repository;
 
-    public EmployeeRestController() {
-        // Same as gRPC preload
-        var dept = Department.newBuilder().setId(1).setName("Engineering").build();
-        var emp = Employee.newBuilder()
-                .setId(1)
-                .setName("Gaurav")
-                .setSalary(95000.0)
-                .addDepartments(dept)
-                .putAddressMap("city", "Bangalore")
-                .putAddressMap("country", "India")
-                .setIsActive(true)
-                .build();
-        employees.add(emp);
+    public EmployeeRestController(EmployeeRepository repository) {
+        this.repository = repository;
     }
 
     private static EmployeeDto toDto(Employee e) {
-        List<DepartmentDto> departments = e.getDepartmentsList().stream()
-                .map(d -> new DepartmentDto(d.getId(), d.getName()))
-                .collect(Collectors.toList());
+        return toDto(e, EmployeeProjection.ALL);
+    }
+
+    // Excluded fields are left null and omitted from the JSON; id is always returned
+    private static EmployeeDto toDto(Employee e, EmployeeProjection projection) {
+        List<DepartmentDto> departments = projection.includes(Employee.DEPARTMENTS_FIELD_NUMBER)
+                ? e.getDepartmentsList().stream()
+                        .map(d -> new DepartmentDto(d.getId(), d.getName()))
+                        .collect(Collectors.toList())
+                : null;
         return new EmployeeDto(
                 e.getId(),
-                e.getName(),
-                e.getSalary(),
+                projection.includes(Employee.NAME_FIELD_NUMBER) ? e.getName() : null,
+                projection.includes(Employee.SALARY_FIELD_NUMBER) ? e.getSalary() : null,
                 departments,
-                e.getAddressMapMap(),
-                e.getIsActive()
+                projection.includes(Employee.ADDRESSMAP_FIELD_NUMBER) ? e.getAddressMapMap() : null,
+                projection.includes(Employee.ISACTIVE_FIELD_NUMBER) ? e.getIsActive() : null
         );
     }
 
+    private static EmployeeProjection projection(String fields) {
+        try {
+            return EmployeeProjection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     private static Employee fromDto(EmployeeDto dto) {
         Employee.Builder builder = Employee.newBuilder()
                 .setId(dto.id())
@@ -70,31 +81,55 @@ public class EmployeeRestController {
     }
 
     @GetMapping("/employee/{id}")
-    public EmployeeDto getEmployee(@PathVariable int id) {
-        Employee e = employees.stream()
-                .filter(emp -> emp.getId() == id)
-                .findFirst()
-                .orElseThrow();
-        return toDto(e);
+    public EmployeeDto getEmployee(@PathVariable int id, @RequestParam(required = false) String fields) {
+        EmployeeProjection projection = projection(fields);
+        Employee e = repository.findById(id);
+        if (e == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee not found: " + id);
+        }
+        return toDto(e, projection);
     }
 
     @PostMapping("/employee")
     public EmployeeDto addEmployee(@RequestBody EmployeeDto dto) {
-        int newId = employees.size() + 1;
-        Employee newEmp = fromDto(new EmployeeDto(
-                newId,
-                dto.name(),
-                dto.salary(),
-                dto.departments(),
-                dto.addressMap(),
-                dto.isActive()
-        ));
-        employees.add(newEmp);
-        return toDto(newEmp);
+        // The repository assigns the id
+        return toDto(repository.save(fromDto(dto)));
     }
 
     @GetMapping("/employees")
-    public List<EmployeeDto> getAllEmployees() {
-        return employees.stream().map(EmployeeRestController::toDto).toList();
+    public List<EmployeeDto> getAllEmployees(@RequestParam(required = false) String fields) {
+        EmployeeProjection projection = projection(fields);
+        List<EmployeeDto> result = new ArrayList<>(repository.size());
+        repository.iterateAfter(0).forEachRemaining(e -> result.add(toDto(e, projection)));
+        return result;
+    }
+
+    @GetMapping("/employees/search")
+    public EmployeeSearchResponseDto searchEmployees(
+            @RequestParam(required = false) Integer department,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Double minSalary,
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(defaultValue = "ID") EmployeeQuery.Sort sort,
+            @RequestParam(defaultValue = "0") int pageSize,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) String fields) {
+        EmployeeProjection projection = projection(fields);
+        int limit = pageSize <= 0
+                ? EmployeeServiceImpl.DEFAULT_PAGE_SIZE
+                : Math.min(pageSize, EmployeeServiceImpl.MAX_PAGE_SIZE);
+        EmployeeSearchResult result;
+        try {
+            result = repository.search(new EmployeeQuery(
+                    department, active, minSalary, maxSalary, namePrefix, sort, pageToken, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        List<EmployeeDto> employees = new ArrayList<>(result.employees().size());
+        for (Employee e : result.employees()) {
+            employees.add(toDto(e, projection));
+        }
+        return new EmployeeSearchResponseDto(employees, result.nextCursor());
     }
 }
@@ -1,66 +1,591 @@
 package org.example.serviceb.grpc;
 
-import com.example.Department;
+import com.example.AddEmployeesAck;
+import com.example.AddEmployeesRequest;
+import com.example.BatchGetEmployeesRequest;
+import com.example.DownloadProfilePictureRequest;
 import com.example.Employee;
+import com.example.EmployeeChangeEvent;
 import com.example.EmployeeList;
 import com.example.EmployeeServiceGrpc;
-import com.example.Empty;
-import com.google.protobuf.Timestamp;
+import com.example.EmployeePage;
+import com.example.GetAllEmployeesRequest;
+import com.example.GetEmployeeRequest;
+import com.example.ProfilePictureChunk;
+import com.example.ProfilePictureUploadResult;
+import com.example.SearchEmployeesRequest;
+import com.example.SearchEmployeesResponse;
+import com.example.StreamEmployeesRequest;
+import com.example.WatchEmployeesRequest;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import org.example.serviceb.repository.EmployeeChange;
+import org.example.serviceb.repository.EmployeeChangeFeed;
+import org.example.serviceb.repository.EmployeeQuery;
+import org.example.serviceb.repository.EmployeeRepository;
+import org.example.serviceb.repository.EmployeeSearchResult;
+import org.example.serviceb.repository.ProfilePictureStore;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
 
 @Service
 public class EmployeeServiceImpl extends EmployeeServiceGrpc.EmployeeServiceImplBase {
 
-    private final AtomicInteger idGenerator = new AtomicInteger(1);
-    private final ConcurrentHashMap<Integer, Employee> employeeDb = new ConcurrentHashMap<>();
-
-    public EmployeeServiceImpl() {
-        // Preload one employee for testing
-        Department dept = Department.newBuilder().setId(1).setName("Engineering").build();
-        Employee emp = Employee.newBuilder()
-                .setId(1)
-                .setName("Gaurav")
-                .setSalary(95000.0)
-                .addDepartments(dept)
-                .putAddressMap("city", "Bangalore")
-                .putAddressMap("country", "India")
-                .setIsActive(true)
-                .setJoinDate(Timestamp.newBuilder().setSeconds(Instant.now().getEpochSecond()).build())
-                .build();
-        employeeDb.put(1, emp);
+    private static final Logger log = Logger.getLogger(EmployeeServiceImpl.class.getName());
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    static final int MIN_CHUNK_SIZE = 4 * 1024;
+    static final int MAX_CHUNK_SIZE = 1024 * 1024;
+
+    private final EmployeeRepository repository;
+    private final ProfilePictureStore pictures;
+    // Watch streams are fed from here rather than the writer's thread; drains never block, so threads are cheap
+    private final Executor watchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EmployeeServiceImpl(EmployeeRepository repository, ProfilePictureStore pictures) {
+        this.repository = repository;
+        this.pictures = pictures;
+    }
+
+    /** Resolves a read mask, failing the call with INVALID_ARGUMENT and returning null if it is unsupported. */
+    private static EmployeeProjection projection(FieldMask readMask, StreamObserver<?> responseObserver) {
+        try {
+            return EmployeeProjection.of(readMask);
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return null;
+        }
+    }
+
+    @Override
+    public void getEmployee(GetEmployeeRequest request, StreamObserver<Employee> responseObserver) {
+        EmployeeProjection projection = projection(request.getReadMask(), responseObserver);
+        if (projection == null) {
+            return;
+        }
+        Employee emp = repository.findById(request.getId());
+        if (emp == null) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Employee not found: " + request.getId())
+                    .asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(projection.apply(emp));
+        responseObserver.onCompleted();
     }
 
+    /** Returns the employees that exist among the requested ids; missing ids are simply absent. */
     @Override
-    public void getEmployee(Employee request, StreamObserver<Employee> responseObserver) {
-        Employee emp = employeeDb.get(request.getId());
-        if (emp != null) {
-            responseObserver.onNext(emp);
-        } else {
-            responseObserver.onError(new RuntimeException("Employee not found"));
+    public void batchGetEmployees(BatchGetEmployeesRequest request, StreamObserver<EmployeeList> responseObserver) {
+        EmployeeProjection projection = projection(request.getReadMask(), responseObserver);
+        if (projection == null) {
+            return;
+        }
+        EmployeeList.Builder list = EmployeeList.newBuilder();
+        for (int i = 0; i < request.getIdsCount(); i++) {
+            Employee emp = repository.findById(request.getIds(i));
+            if (emp != null) {
+                list.addEmployees(projection.apply(emp));
+            }
         }
+        responseObserver.onNext(list.build());
         responseObserver.onCompleted();
     }
 
+    /** Filtered, sorted and paged lookup answered from the repository's secondary indexes. */
+    @Override
+    public void searchEmployees(SearchEmployeesRequest request,
+                                StreamObserver<SearchEmployeesResponse> responseObserver) {
+        EmployeeProjection projection = projection(request.getReadMask(), responseObserver);
+        if (projection == null) {
+            return;
+        }
+        int pageSize = request.getPageSize() <= 0
+                ? DEFAULT_PAGE_SIZE
+                : Math.min(request.getPageSize(), MAX_PAGE_SIZE);
+        EmployeeQuery query = new EmployeeQuery(
+                request.hasDepartmentId() ? request.getDepartmentId() : null,
+                request.hasIsActive() ? request.getIsActive() : null,
+                request.hasMinSalary() ? request.getMinSalary() : null,
+                request.hasMaxSalary() ? request.getMaxSalary() : null,
+                request.getNamePrefix(),
+                sort(request.getSort()),
+                request.getPageToken(),
+                pageSize);
+        EmployeeSearchResult result;
+        try {
+            result = repository.search(query);
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        SearchEmployeesResponse.Builder response = SearchEmployeesResponse.newBuilder()
+                .setNextPageToken(result.nextCursor());
+        for (Employee emp : result.employees()) {
+            response.addEmployees(projection.apply(emp));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    private static EmployeeQuery.Sort sort(SearchEmployeesRequest.SortOrder order) {
+        return switch (order) {
+            case SALARY_ASC -> EmployeeQuery.Sort.SALARY_ASC;
+            case SALARY_DESC -> EmployeeQuery.Sort.SALARY_DESC;
+            case NAME -> EmployeeQuery.Sort.NAME;
+            case ID, UNRECOGNIZED -> EmployeeQuery.Sort.ID;
+        };
+    }
+
     @Override
     public void addEmployee(Employee request, StreamObserver<Employee> responseObserver) {
-        Employee emp = request.toBuilder().setId(idGenerator.getAndIncrement()).build();
-        employeeDb.put(emp.getId(), emp);
-        responseObserver.onNext(emp);
+        responseObserver.onNext(repository.save(request));
         responseObserver.onCompleted();
     }
 
+    /**
+     * Bulk ingest: each inbound message is one batch, applied with a single id range
+     * reservation and acknowledged with the ids assigned to it, in order. A batch that cannot be
+     * stored fails the stream; batches acknowledged before it stay applied.
+     */
     @Override
-    public void getAllEmployees(Empty request, StreamObserver<EmployeeList> responseObserver) {
-        EmployeeList list = EmployeeList.newBuilder()
-                .addAllEmployees(new ArrayList<>(employeeDb.values()))
-                .build();
-        responseObserver.onNext(list);
+    public StreamObserver<AddEmployeesRequest> addEmployees(StreamObserver<AddEmployeesAck> responseObserver) {
+        return new StreamObserver<>() {
+            private long batches;
+            private long stored;
+            private boolean failed;
+
+            @Override
+            public void onNext(AddEmployeesRequest batch) {
+                if (failed) {
+                    return;
+                }
+                AddEmployeesAck.Builder ack = AddEmployeesAck.newBuilder();
+                try {
+                    for (Employee emp : repository.saveAll(batch.getEmployeesList())) {
+                        ack.addIds(emp.getId());
+                    }
+                } catch (RuntimeException e) {
+                    failed = true;
+                    responseObserver.onError(Status.INTERNAL
+                            .withDescription("Failed to store batch " + (batches + 1))
+                            .withCause(e)
+                            .asRuntimeException());
+                    return;
+                }
+                batches++;
+                stored += ack.getIdsCount();
+                responseObserver.onNext(ack.build());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // The client cancelled or went away; what it was acknowledged stays applied
+                log.info(String.format("addEmployees ended by the client after %d batches (%d employees): %s",
+                        batches, stored, Status.fromThrowable(t)));
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!failed) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    /**
+     * Receives a picture as a stream of chunks, writing each one to the picture store as it
+     * arrives; the previous picture stays visible until the upload completes.
+     */
+    @Override
+    public StreamObserver<ProfilePictureChunk> uploadProfilePicture(
+            StreamObserver<ProfilePictureUploadResult> responseObserver) {
+        return new StreamObserver<>() {
+            private ProfilePictureStore.Upload upload;
+            private int employeeId;
+            private long size;
+            private boolean failed;
+
+            @Override
+            public void onNext(ProfilePictureChunk chunk) {
+                if (failed) {
+                    return;
+                }
+                try {
+                    if (upload == null) {
+                        employeeId = chunk.getEmployeeId();
+                        if (repository.findById(employeeId) == null) {
+                            fail(Status.NOT_FOUND.withDescription("Employee not found: " + employeeId));
+                            return;
+                        }
+                        upload = pictures.begin(employeeId);
+                    }
+                    size += chunk.getData().size();
+                    if (size > pictures.maxSize()) {
+                        fail(Status.RESOURCE_EXHAUSTED
+                                .withDescription("Profile picture exceeds " + pictures.maxSize() + " bytes"));
+                        return;
+                    }
+                    upload.write(chunk.getData());
+                } catch (IOException e) {
+                    fail(Status.INTERNAL.withDescription("Failed to store profile picture").withCause(e));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Client went away; drop the partial picture
+                abort();
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                if (upload == null) {
+                    responseObserver.onError(Status.INVALID_ARGUMENT
+                            .withDescription("No profile picture chunks received")
+                            .asRuntimeException());
+                    return;
+                }
+                try (ProfilePictureStore.Upload u = upload) {
+                    long stored = u.commit();
+                    responseObserver.onNext(ProfilePictureUploadResult.newBuilder()
+                            .setEmployeeId(employeeId)
+                            .setSize(stored)
+                            .build());
+                    responseObserver.onCompleted();
+                } catch (IOException e) {
+                    responseObserver.onError(Status.INTERNAL
+                            .withDescription("Failed to store profile picture")
+                            .withCause(e)
+                            .asRuntimeException());
+                }
+            }
+
+            private void fail(Status status) {
+                failed = true;
+                abort();
+                responseObserver.onError(status.asRuntimeException());
+            }
+
+            private void abort() {
+                if (upload != null) {
+                    try {
+                        upload.close();
+                    } catch (IOException ignored) {
+                        // Best effort; an orphaned temporary file is harmless
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public void downloadProfilePicture(DownloadProfilePictureRequest request,
+                                       StreamObserver<ProfilePictureChunk> responseObserver) {
+        int chunkSize = request.getChunkSize() <= 0
+                ? DEFAULT_CHUNK_SIZE
+                : Math.clamp(request.getChunkSize(), MIN_CHUNK_SIZE, MAX_CHUNK_SIZE);
+        InputStream in;
+        try {
+            in = pictures.open(request.getEmployeeId());
+        } catch (IOException e) {
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Failed to read profile picture")
+                    .withCause(e)
+                    .asRuntimeException());
+            return;
+        }
+        if (in == null) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("No profile picture for employee " + request.getEmployeeId())
+                    .asRuntimeException());
+            return;
+        }
+
+        ServerCallStreamObserver<ProfilePictureChunk> observer =
+                (ServerCallStreamObserver<ProfilePictureChunk>) responseObserver;
+        ChunkWriter writer = new ChunkWriter(observer, in, chunkSize);
+        observer.setOnCancelHandler(writer::close);
+        observer.setOnReadyHandler(writer::drain);
+    }
+
+    @Override
+    public void getAllEmployees(GetAllEmployeesRequest request, StreamObserver<EmployeeList> responseObserver) {
+        EmployeeProjection projection = projection(request.getReadMask(), responseObserver);
+        if (projection == null) {
+            return;
+        }
+        EmployeeList.Builder list = EmployeeList.newBuilder();
+        repository.iterateAfter(0).forEachRemaining(emp -> list.addEmployees(projection.apply(emp)));
+        responseObserver.onNext(list.build());
         responseObserver.onCompleted();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void streamEmployees(StreamEmployeesRequest request, StreamObserver<EmployeePage> responseObserver) {
+        int pageSize = request.getPageSize() <= 0
+                ? DEFAULT_PAGE_SIZE
+                : Math.min(request.getPageSize(), MAX_PAGE_SIZE);
+        int afterId;
+        try {
+            afterId = request.getResumeToken().isEmpty() ? 0 : Integer.parseInt(request.getResumeToken());
+        } catch (NumberFormatException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Invalid resume token: " + request.getResumeToken())
+                    .asRuntimeException());
+            return;
+        }
+
+        EmployeeProjection projection = projection(request.getReadMask(), responseObserver);
+        if (projection == null) {
+            return;
+        }
+
+        ServerCallStreamObserver<EmployeePage> observer = (ServerCallStreamObserver<EmployeePage>) responseObserver;
+        PageWriter writer = new PageWriter(observer, repository.iterateAfter(afterId), pageSize, projection);
+        observer.setOnCancelHandler(writer::cancel);
+        // Invoked by gRPC once the call is ready and again every time the transport drains
+        observer.setOnReadyHandler(writer::drain);
+    }
+
+    /**
+     * Pushes every change to the store, in sequence order, until the client cancels. A watcher
+     * that asks to resume from a position the feed no longer holds, or falls that far behind,
+     * is failed with OUT_OF_RANGE and should resync with streamEmployees.
+     */
+    @Override
+    public void watchEmployees(WatchEmployeesRequest request, StreamObserver<EmployeeChangeEvent> responseObserver) {
+        EmployeeProjection projection = projection(request.getReadMask(), responseObserver);
+        if (projection == null) {
+            return;
+        }
+        EmployeeChangeFeed feed = repository.changes();
+        if (!request.getFeedId().isEmpty() && !request.getFeedId().equals(feed.id())) {
+            responseObserver.onError(Status.OUT_OF_RANGE
+                    .withDescription("Change feed " + request.getFeedId() + " no longer exists")
+                    .asRuntimeException());
+            return;
+        }
+        long afterSequence = request.getAfterSequence() == 0 && request.getFeedId().isEmpty()
+                ? feed.lastSequence()
+                : request.getAfterSequence();
+
+        ServerCallStreamObserver<EmployeeChangeEvent> observer =
+                (ServerCallStreamObserver<EmployeeChangeEvent>) responseObserver;
+        ChangeWriter writer = new ChangeWriter(observer, feed.id(), projection, watchExecutor);
+        EmployeeChangeFeed.Subscription subscription;
+        try {
+            subscription = feed.subscribe(afterSequence, writer::signal);
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.OUT_OF_RANGE.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        if (subscription.lost()) {
+            subscription.close();
+            responseObserver.onError(Status.OUT_OF_RANGE
+                    .withDescription("Sequence " + afterSequence + " is older than the retained changes")
+                    .asRuntimeException());
+            return;
+        }
+        observer.setOnCancelHandler(writer::close);
+        observer.setOnReadyHandler(writer::signal);
+        writer.start(subscription);
+    }
+
+    /**
+     * Emits pages only while the transport is ready, so at most one page is buffered
+     * per call regardless of how many employees are stored.
+     */
+    private static final class PageWriter {
+        private final ServerCallStreamObserver<EmployeePage> observer;
+        private final Iterator<Employee> employees;
+        private final int pageSize;
+        private final EmployeeProjection projection;
+        private boolean done;
+
+        PageWriter(ServerCallStreamObserver<EmployeePage> observer, Iterator<Employee> employees, int pageSize,
+                   EmployeeProjection projection) {
+            this.observer = observer;
+            this.employees = employees;
+            this.pageSize = pageSize;
+            this.projection = projection;
+        }
+
+        void drain() {
+            while (!done && observer.isReady()) {
+                EmployeePage.Builder page = EmployeePage.newBuilder();
+                int lastId = 0;
+                while (page.getEmployeesCount() < pageSize && employees.hasNext()) {
+                    Employee emp = employees.next();
+                    page.addEmployees(projection.apply(emp));
+                    lastId = emp.getId();
+                }
+                boolean last = !employees.hasNext();
+                if (!last) {
+                    page.setNextResumeToken(Integer.toString(lastId));
+                }
+                observer.onNext(page.build());
+                if (last) {
+                    done = true;
+                    observer.onCompleted();
+                }
+            }
+        }
+
+        void cancel() {
+            done = true;
+        }
+    }
+
+    /**
+     * Moves changes from a feed subscription to one watch stream. Publishes and transport
+     * readiness both just {@link #signal()}; a single drain at a time runs on the executor and
+     * only writes while the transport is ready, so a slow watcher holds back nothing but its own
+     * position in the feed.
+     */
+    private static final class ChangeWriter {
+        private final ServerCallStreamObserver<EmployeeChangeEvent> observer;
+        private final String feedId;
+        private final EmployeeProjection projection;
+        private final Executor executor;
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile EmployeeChangeFeed.Subscription subscription;
+        private volatile boolean done;
+
+        ChangeWriter(ServerCallStreamObserver<EmployeeChangeEvent> observer, String feedId,
+                     EmployeeProjection projection, Executor executor) {
+            this.observer = observer;
+            this.feedId = feedId;
+            this.projection = projection;
+            this.executor = executor;
+        }
+
+        void start(EmployeeChangeFeed.Subscription subscription) {
+            this.subscription = subscription;
+            if (done) {
+                // Cancelled before the subscription was handed over
+                subscription.close();
+                return;
+            }
+            signal();
+        }
+
+        void signal() {
+            if (pending.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                emit();
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            EmployeeChangeFeed.Subscription changes = subscription;
+            if (changes == null) {
+                return;
+            }
+            while (!done && observer.isReady()) {
+                EmployeeChange change = changes.next();
+                if (change == null) {
+                    if (changes.lost()) {
+                        close();
+                        observer.onError(Status.OUT_OF_RANGE
+                                .withDescription("Watcher fell behind by more than the retained changes")
+                                .asRuntimeException());
+                    }
+                    return;
+                }
+                observer.onNext(EmployeeChangeEvent.newBuilder()
+                        .setSequence(change.sequence())
+                        .setType(change.type() == EmployeeChange.Type.CREATED
+                                ? EmployeeChangeEvent.ChangeType.CREATED
+                                : EmployeeChangeEvent.ChangeType.UPDATED)
+                        .setEmployee(projection.apply(change.employee()))
+                        .setFeedId(feedId)
+                        .build());
+            }
+        }
+
+        void close() {
+            done = true;
+            EmployeeChangeFeed.Subscription changes = subscription;
+            if (changes != null) {
+                changes.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the picture one chunk at a time while the transport is ready, so a large picture is
+     * never held in memory as a whole.
+     */
+    private static final class ChunkWriter {
+        private final ServerCallStreamObserver<ProfilePictureChunk> observer;
+        private final InputStream in;
+        private final int chunkSize;
+        private boolean done;
+
+        ChunkWriter(ServerCallStreamObserver<ProfilePictureChunk> observer, InputStream in, int chunkSize) {
+            this.observer = observer;
+            this.in = in;
+            this.chunkSize = chunkSize;
+        }
+
+        void drain() {
+            try {
+                while (!done && observer.isReady()) {
+                    byte[] buffer = new byte[chunkSize];
+                    int n = in.readNBytes(buffer, 0, chunkSize);
+                    if (n > 0) {
+                        // The buffer is never reused, so it can back the ByteString without a copy
+                        observer.onNext(ProfilePictureChunk.newBuilder()
+                                .setData(UnsafeByteOperations.unsafeWrap(buffer, 0, n))
+                                .build());
+                    }
+                    if (n < chunkSize) {
+                        close();
+                        observer.onCompleted();
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                observer.onError(Status.INTERNAL
+                        .withDescription("Failed to read profile picture")
+                        .withCause(e)
+                        .asRuntimeException());
+            }
+        }
+
+        void close() {
+            if (!done) {
+                done = true;
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // Nothing left to release
+                }
+            }
+        }
+    }
+}
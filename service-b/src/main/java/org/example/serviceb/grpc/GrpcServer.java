@@ -1,33 +1,247 @@
 package org.example.serviceb.grpc;
 
 
+import com.example.EmployeeServiceGrpc;
+import com.example.common.grpc.Codecs;
+import com.example.common.grpc.WireCapture;
 import com.example.grpc.HelloProto;
 import com.example.grpc.HelloServiceGrpc;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
 import io.grpc.ServerInterceptors;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.grpc.protobuf.services.HealthStatusManager;
 import io.grpc.stub.StreamObserver;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Runs the gRPC server as part of the application lifecycle: started once the context is
+ * refreshed and, on shutdown, drained for up to {@code grpc.server.shutdown-grace-period} before
+ * remaining calls are cancelled. The standard {@code grpc.health.v1.Health} service is published
+ * alongside, so load-balancing clients can stop routing here before the drain begins.
+ * Depending on {@code grpc.server.transport} the services are exposed over Netty, over the
+ * in-process transport for a co-located service-a, or both.
+ */
 @Component
-public class GrpcServer implements CommandLineRunner {
+@EnableConfigurationProperties(GrpcServerProperties.class)
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger log = Logger.getLogger(GrpcServer.class.getName());
+
+    private final GrpcServerProperties properties;
+    private final EmployeeServiceImpl employeeService;
+    private final WireCapture wireCapture;
+    private final MetricsServerInterceptor metrics;
+    private final ConcurrencyLimitServerInterceptor concurrencyLimit;
+    private final EmployeeResponseCache responseCache;
+    private final TracingServerInterceptor tracing;
+    private final CompressionServerInterceptor compression;
+
+    private Server server;
+    private Server inProcessServer;
+    private HealthStatusManager health;
+    private ExecutorService executor;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+
+    public GrpcServer(GrpcServerProperties properties, EmployeeServiceImpl employeeService,
+                      WireCapture wireCapture, MetricsServerInterceptor metrics,
+                      ConcurrencyLimitServerInterceptor concurrencyLimit, EmployeeResponseCache responseCache,
+                      TracingServerInterceptor tracing, CompressionServerInterceptor compression) {
+        this.properties = properties;
+        this.employeeService = employeeService;
+        this.wireCapture = wireCapture;
+        this.metrics = metrics;
+        this.concurrencyLimit = concurrencyLimit;
+        this.responseCache = responseCache;
+        this.tracing = tracing;
+        this.compression = compression;
+    }
 
     @Override
-    public void run(String... args) throws Exception {
-        Server server = ServerBuilder.forPort(9090)
+    public synchronized void start() {
+        health = new HealthStatusManager();
+        executor = switch (properties.getExecutor()) {
+            case FIXED -> Executors.newFixedThreadPool(properties.getExecutorThreads(),
+                    Thread.ofPlatform().daemon().name("grpc-server-", 0).factory());
+            case FORK_JOIN -> new ForkJoinPool(properties.getExecutorThreads(),
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+            case DEFAULT, DIRECT -> null;
+        };
+
+        GrpcServerProperties.Transport transport = properties.getTransport();
+        try {
+            if (transport != GrpcServerProperties.Transport.IN_PROCESS) {
+                server = configure(nettyBuilder()).build().start();
+            }
+            if (transport != GrpcServerProperties.Transport.NETTY) {
+                inProcessServer = configure(InProcessServerBuilder.forName(properties.getInProcessName()))
+                        .build()
+                        .start();
+            }
+        } catch (IOException e) {
+            shutdownNow();
+            releaseResources();
+            throw new UncheckedIOException("Failed to start gRPC server on port " + properties.getPort(), e);
+        }
+        health.setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, ServingStatus.SERVING);
+        health.setStatus(EmployeeServiceGrpc.SERVICE_NAME, ServingStatus.SERVING);
+        health.setStatus(HelloServiceGrpc.SERVICE_NAME, ServingStatus.SERVING);
+        log.info(() -> "✅ Employee gRPC server running on "
+                + (server != null ? "port " + server.getPort() : "")
+                + (server != null && inProcessServer != null ? " and " : "")
+                + (inProcessServer != null ? "in-process name '" + properties.getInProcessName() + "'" : "")
+                + " (executor " + properties.getExecutor() + ")");
+    }
+
+    private NettyServerBuilder nettyBuilder() {
+        NettyServerBuilder builder = NettyServerBuilder.forPort(properties.getPort())
+                .maxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection())
+                .flowControlWindow((int) properties.getFlowControlWindow().toBytes())
+                .keepAliveTime(properties.getKeepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+                .keepAliveTimeout(properties.getKeepAliveTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                .permitKeepAliveTime(properties.getPermitKeepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+                .permitKeepAliveWithoutCalls(properties.isPermitKeepAliveWithoutCalls());
+        if (properties.getWorkerThreads() > 0 || properties.getBossThreads() != 1) {
+            // Netty requires all three to be set together
+            bossGroup = new NioEventLoopGroup(properties.getBossThreads(),
+                    Thread.ofPlatform().daemon().name("grpc-boss-", 0).factory());
+            workerGroup = new NioEventLoopGroup(properties.getWorkerThreads(),
+                    Thread.ofPlatform().daemon().name("grpc-worker-", 0).factory());
+            builder.bossEventLoopGroup(bossGroup)
+                    .workerEventLoopGroup(workerGroup)
+                    .channelType(NioServerSocketChannel.class);
+        }
+        return builder;
+    }
+
+    /**
+     * Settings shared by both transports, so in-process calls run through the same services,
+     * interceptors and executor as network calls. Interceptors run last-to-first, so metrics
+     * also see calls the concurrency limit rejects, and tracing, outermost, spans the whole chain.
+     * Employee responses go out through the response cache's marshallers on both transports.
+     * Over Netty, requests may arrive gzip- or snappy-compressed and responses are compressed as
+     * configured under {@code grpc.server.compression}; in-process calls are never compressed.
+     */
+    private <T extends ServerBuilder<T>> T configure(T builder) {
+        builder.maxInboundMessageSize((int) properties.getMaxInboundMessageSize().toBytes())
+                .compressorRegistry(Codecs.compressorRegistry())
+                .decompressorRegistry(Codecs.decompressorRegistry())
                 .addService(ServerInterceptors.intercept(
-                        new EmployeeServiceImpl(),
-                        new LoggingServerInterceptor()))
+                        tracing.bind(responseCache.bind(employeeService.bindService())),
+                        new LoggingServerInterceptor(wireCapture),
+                        compression,
+                        concurrencyLimit,
+                        metrics,
+                        tracing))
                 .addService(ServerInterceptors.intercept(
-                        new HelloServiceImpl(),
-                        new LoggingServerInterceptor()))
-                .build()
-                .start();
+                        tracing.bind(new HelloServiceImpl().bindService()),
+                        new LoggingServerInterceptor(wireCapture),
+                        compression,
+                        concurrencyLimit,
+                        metrics,
+                        tracing))
+                // Not behind the concurrency limit: health probes must answer even when shedding
+                .addService(health.getHealthService());
+        if (tracing.streamTracerFactory() != null) {
+            builder.addStreamTracerFactory(tracing.streamTracerFactory());
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        } else if (properties.getExecutor() == GrpcServerProperties.ExecutorType.DIRECT) {
+            builder.directExecutor();
+        }
+        return builder;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null && inProcessServer == null) {
+            return;
+        }
+        // Report NOT_SERVING so health-checking clients move away, refuse new calls,
+        // then give in-flight ones the grace period to finish
+        health.enterTerminalState();
+        long deadline = System.nanoTime() + properties.getShutdownGracePeriod().toNanos();
+        try {
+            for (Server s : servers()) {
+                s.shutdown();
+            }
+            for (Server s : servers()) {
+                if (!s.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.warning("gRPC calls still running after grace period; cancelling");
+                    s.shutdownNow();
+                    s.awaitTermination(5, TimeUnit.SECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            server = null;
+            inProcessServer = null;
+            releaseResources();
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null || inProcessServer != null;
+    }
+
+    /** Bound Netty port, useful when {@code grpc.server.port} is 0; -1 when serving in-process only. */
+    public synchronized int getPort() {
+        return server == null ? -1 : server.getPort();
+    }
+
+    private List<Server> servers() {
+        List<Server> servers = new ArrayList<>(2);
+        if (server != null) {
+            servers.add(server);
+        }
+        if (inProcessServer != null) {
+            servers.add(inProcessServer);
+        }
+        return servers;
+    }
 
-        System.out.println("✅ Employee gRPC server running on port 9090");
-        server.awaitTermination();
+    private void shutdownNow() {
+        for (Server s : servers()) {
+            s.shutdownNow();
+        }
     }
+
+    private void releaseResources() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+            workerGroup.shutdownGracefully();
+            bossGroup = null;
+            workerGroup = null;
+        }
+    }
+
     static class HelloServiceImpl extends HelloServiceGrpc.HelloServiceImplBase {
         @Override
         public void sayHello(HelloProto.HelloRequest request,
@@ -40,4 +254,4 @@ public class GrpcServer implements CommandLineRunner {
             responseObserver.onCompleted();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package org.example.serviceb.grpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Runtime settings for the gRPC server started by {@link GrpcServer}, bound from {@code grpc.server}.
+ */
+@ConfigurationProperties(prefix = "grpc.server")
+public class GrpcServerProperties {
+
+    public enum ExecutorType {
+        /** gRPC's built-in cached thread pool. */
+        DEFAULT,
+        /** Fixed pool of {@code executorThreads} platform threads. */
+        FIXED,
+        /** FIFO ForkJoinPool of {@code executorThreads} workers; cheap hand-off for short handlers. */
+        FORK_JOIN,
+        /** One virtual thread per callback; suits handlers that block on I/O. */
+        VIRTUAL,
+        /** Run handlers on the Netty event loop; only safe when handlers never block. */
+        DIRECT
+    }
+
+    public enum Transport {
+        /** TCP via Netty on {@code port}. */
+        NETTY,
+        /** In-process only, for a client in the same JVM; no socket is opened. */
+        IN_PROCESS,
+        /** Both of the above. */
+        BOTH
+    }
+
+    private Transport transport = Transport.NETTY;
+    /** Name service-a connects to with {@code in-process:<name>}. */
+    private String inProcessName = "service-b";
+    private int port = 9090;
+    private ExecutorType executor = ExecutorType.DEFAULT;
+    private int executorThreads = Runtime.getRuntime().availableProcessors();
+    /** Netty acceptor threads. */
+    private int bossThreads = 1;
+    /** Netty I/O threads; zero keeps Netty's default of twice the core count. */
+    private int workerThreads = 0;
+    private int maxConcurrentCallsPerConnection = Integer.MAX_VALUE;
+    private DataSize flowControlWindow = DataSize.ofMegabytes(1);
+    private DataSize maxInboundMessageSize = DataSize.ofMegabytes(4);
+    private Duration keepAliveTime = Duration.ofHours(2);
+    private Duration keepAliveTimeout = Duration.ofSeconds(20);
+    /** Shortest client keepalive interval tolerated before the connection is closed with too_many_pings. */
+    private Duration permitKeepAliveTime = Duration.ofSeconds(20);
+    private boolean permitKeepAliveWithoutCalls = false;
+    /** How long in-flight calls may run after shutdown begins before they are cancelled. */
+    private Duration shutdownGracePeriod = Duration.ofSeconds(30);
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public String getInProcessName() {
+        return inProcessName;
+    }
+
+    public void setInProcessName(String inProcessName) {
+        this.inProcessName = inProcessName;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public ExecutorType getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(ExecutorType executor) {
+        this.executor = executor;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = executorThreads;
+    }
+
+    public int getBossThreads() {
+        return bossThreads;
+    }
+
+    public void setBossThreads(int bossThreads) {
+        this.bossThreads = bossThreads;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getMaxConcurrentCallsPerConnection() {
+        return maxConcurrentCallsPerConnection;
+    }
+
+    public void setMaxConcurrentCallsPerConnection(int maxConcurrentCallsPerConnection) {
+        this.maxConcurrentCallsPerConnection = maxConcurrentCallsPerConnection;
+    }
+
+    public DataSize getFlowControlWindow() {
+        return flowControlWindow;
+    }
+
+    public void setFlowControlWindow(DataSize flowControlWindow) {
+        this.flowControlWindow = flowControlWindow;
+    }
+
+    public DataSize getMaxInboundMessageSize() {
+        return maxInboundMessageSize;
+    }
+
+    public void setMaxInboundMessageSize(DataSize maxInboundMessageSize) {
+        this.maxInboundMessageSize = maxInboundMessageSize;
+    }
+
+    public Duration getKeepAliveTime() {
+        return keepAliveTime;
+    }
+
+    public void setKeepAliveTime(Duration keepAliveTime) {
+        this.keepAliveTime = keepAliveTime;
+    }
+
+    public Duration getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    public void setKeepAliveTimeout(Duration keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    public Duration getPermitKeepAliveTime() {
+        return permitKeepAliveTime;
+    }
+
+    public void setPermitKeepAliveTime(Duration permitKeepAliveTime) {
+        this.permitKeepAliveTime = permitKeepAliveTime;
+    }
+
+    public boolean isPermitKeepAliveWithoutCalls() {
+        return permitKeepAliveWithoutCalls;
+    }
+
+    public void setPermitKeepAliveWithoutCalls(boolean permitKeepAliveWithoutCalls) {
+        this.permitKeepAliveWithoutCalls = permitKeepAliveWithoutCalls;
+    }
+
+    public Duration getShutdownGracePeriod() {
+        return shutdownGracePeriod;
+    }
+
+    public void setShutdownGracePeriod(Duration shutdownGracePeriod) {
+        this.shutdownGracePeriod = shutdownGracePeriod;
+    }
+}
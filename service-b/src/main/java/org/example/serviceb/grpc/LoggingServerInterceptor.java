@@ -1,11 +1,15 @@
 package org.example.serviceb.grpc;
 
+import com.example.common.grpc.WireCapture;
 import io.grpc.*;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.logging.Logger;
+
 public class LoggingServerInterceptor implements ServerInterceptor {
-    private static final Logger log = Logger.getLogger(LoggingServerInterceptor.class.getName());
+
+    private final WireCapture capture;
+
+    public LoggingServerInterceptor(WireCapture capture) {
+        this.capture = capture;
+    }
 
     @Override
     public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
@@ -13,15 +17,17 @@ public class LoggingServerInterceptor implements ServerInterceptor {
             Metadata headers,
             ServerCallHandler<ReqT, RespT> next) {
 
+        MethodDescriptor<ReqT, RespT> method = call.getMethodDescriptor();
+        if (!capture.isEnabled(method.getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+
         ServerCall<ReqT, RespT> interceptedCall = new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
             @Override
             public void sendMessage(RespT message) {
-                // Serialize response to bytes for logging
-                try (InputStream is = call.getMethodDescriptor().getResponseMarshaller().stream(message)) {
-                    byte[] binary = is.readAllBytes();
-                    log.info("\uD83D\uDCE8 gRPC OUTGOING RESPONSE BINARY (hex): " + bytesToHex(binary));
-                } catch (IOException e) {
-                    log.warning("Failed to log outgoing response bytes: " + e.getMessage());
+                if (capture.sample()) {
+                    capture.capture("📨 gRPC OUTGOING RESPONSE", method.getFullMethodName(),
+                            method.getResponseMarshaller(), message);
                 }
                 super.sendMessage(message);
             }
@@ -31,23 +37,12 @@ public class LoggingServerInterceptor implements ServerInterceptor {
         return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
             @Override
             public void onMessage(ReqT message) {
-                // Serialize request to bytes for logging
-                try (InputStream is = call.getMethodDescriptor().getRequestMarshaller().stream(message)) {
-                    byte[] binary = is.readAllBytes();
-                    log.info("\uD83D\uDCE9 gRPC INCOMING REQUEST BINARY (hex): " + bytesToHex(binary));
-                } catch (IOException e) {
-                    log.warning("Failed to log incoming request bytes: " + e.getMessage());
+                if (capture.sample()) {
+                    capture.capture("📩 gRPC INCOMING REQUEST", method.getFullMethodName(),
+                            method.getRequestMarshaller(), message);
                 }
                 super.onMessage(message);
             }
         };
     }
-
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02X ", b));
-        }
-        return sb.toString().trim();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package org.example.serviceb.grpc;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records per-method call latency (by status code), message sizes and in-flight calls.
+ * Meters are resolved once per method and status, so recording is just Micrometer's
+ * lock-free histogram and striped counter updates.
+ */
+@Component
+public class MetricsServerInterceptor implements ServerInterceptor {
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public MetricsServerInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        MethodMeters methodMeters = meters.computeIfAbsent(
+                call.getMethodDescriptor().getFullMethodName(), MethodMeters::new);
+        CallRecorder recorder = new CallRecorder(methodMeters);
+
+        ServerCall<ReqT, RespT> monitoredCall = new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                if (message instanceof MessageLite ml) {
+                    methodMeters.responseSize.record(ml.getSerializedSize());
+                }
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                recorder.finish(status.getCode());
+                super.close(status, trailers);
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener = next.startCall(monitoredCall, headers);
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                if (message instanceof MessageLite ml) {
+                    methodMeters.requestSize.record(ml.getSerializedSize());
+                }
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                // Client cancelled or deadline passed; close() may never be called
+                recorder.finish(Status.Code.CANCELLED);
+                super.onCancel();
+            }
+        };
+    }
+
+    /** Tracks one call; whichever of close/cancel happens first is recorded. */
+    private static final class CallRecorder extends AtomicBoolean {
+        private final MethodMeters meters;
+        private final long start = System.nanoTime();
+
+        CallRecorder(MethodMeters meters) {
+            this.meters = meters;
+            meters.inFlight.increment();
+        }
+
+        void finish(Status.Code code) {
+            if (compareAndSet(false, true)) {
+                meters.inFlight.decrement();
+                meters.timer(code).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private final class MethodMeters {
+        private final String method;
+        private final LongAdder inFlight = new LongAdder();
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(Status.Code.values().length);
+
+        MethodMeters(String method) {
+            this.method = method;
+            this.requestSize = size("request");
+            this.responseSize = size("response");
+            Gauge.builder("grpc.server.calls.in.flight", inFlight, LongAdder::sum)
+                    .tag("method", method)
+                    .register(registry);
+        }
+
+        private DistributionSummary size(String direction) {
+            return DistributionSummary.builder("grpc.server.message.size")
+                    .baseUnit("bytes")
+                    .tag("method", method)
+                    .tag("direction", direction)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        Timer timer(Status.Code code) {
+            Timer timer = timers.get(code.ordinal());
+            if (timer == null) {
+                // Registration is idempotent, so a lost race just returns the same meter
+                timer = Timer.builder("grpc.server.calls")
+                        .tag("method", method)
+                        .tag("status", code.name())
+                        .publishPercentileHistogram()
+                        .register(registry);
+                timers.set(code.ordinal(), timer);
+            }
+            return timer;
+        }
+    }
+}
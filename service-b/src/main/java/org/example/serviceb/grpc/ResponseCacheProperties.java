@@ -0,0 +1,31 @@
+package org.example.serviceb.grpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for {@link EmployeeResponseCache}, bound from {@code grpc.server.response-cache}.
+ */
+@ConfigurationProperties(prefix = "grpc.server.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    /** Encoded bytes kept in total; once full, the oldest entries not read recently are evicted. */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.serviceb.grpc;
+
+import com.example.common.tracing.Span;
+import com.example.common.tracing.Tracer;
+import io.grpc.*;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Continues the caller's trace from the {@code traceparent} metadata key and, for sampled traces,
+ * records each call as a server span with one child per phase:
+ * <ul>
+ *   <li>{@code queue-wait}: from the transport accepting the stream until the executor runs the call,
+ *       measured from the timestamp {@link #streamTracerFactory()} puts in the call's Context</li>
+ *   <li>{@code deserialize}: parsing each request, timed by the marshallers {@link #bind} installs</li>
+ *   <li>{@code handler}: the service method, which for unary and server-streaming calls runs on half-close</li>
+ *   <li>{@code serialize}: each {@code sendMessage}, which encodes and frames the response</li>
+ * </ul>
+ * Must be the outermost interceptor so the spans cover the rest of the chain.
+ */
+@Component
+public class TracingServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> TRACEPARENT_KEY =
+            Metadata.Key.of(Span.TRACEPARENT, Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Context.Key<Long> STREAM_CREATED = Context.key("stream-created-nanos");
+    private static final ThreadLocal<long[]> LAST_PARSE = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Tracer tracer;
+    private final ServerStreamTracer.Factory streamTracerFactory;
+
+    public TracingServerInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+        this.streamTracerFactory = new ServerStreamTracer.Factory() {
+            @Override
+            public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+                // Called on the transport thread as the stream arrives, before it is queued to the executor
+                long created = System.nanoTime();
+                return new ServerStreamTracer() {
+                    @Override
+                    public Context filterContext(Context context) {
+                        return context.withValue(STREAM_CREATED, created);
+                    }
+                };
+            }
+        };
+    }
+
+    /** Registered on each server builder so queue-wait can be measured; null when tracing is disabled. */
+    public ServerStreamTracer.Factory streamTracerFactory() {
+        return tracer.isEnabled() ? streamTracerFactory : null;
+    }
+
+    /** Returns {@code service} with request marshallers that time parsing for the deserialize span. */
+    public ServerServiceDefinition bind(ServerServiceDefinition service) {
+        if (!tracer.isEnabled()) {
+            return service;
+        }
+        ServiceDescriptor original = service.getServiceDescriptor();
+        ServiceDescriptor.Builder descriptor = ServiceDescriptor.newBuilder(original.getName())
+                .setSchemaDescriptor(original.getSchemaDescriptor());
+        List<ServerMethodDefinition<?, ?>> methods = new ArrayList<>();
+        for (ServerMethodDefinition<?, ?> method : service.getMethods()) {
+            ServerMethodDefinition<?, ?> rebound = rebind(method);
+            descriptor.addMethod(rebound.getMethodDescriptor());
+            methods.add(rebound);
+        }
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptor.build());
+        for (ServerMethodDefinition<?, ?> method : methods) {
+            builder.addMethod(method);
+        }
+        return builder.build();
+    }
+
+    private static <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> rebind(ServerMethodDefinition<ReqT, RespT> method) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        return ServerMethodDefinition.create(
+                descriptor.toBuilder()
+                        .setRequestMarshaller(new TimedMarshaller<>(descriptor.getRequestMarshaller()))
+                        .build(),
+                method.getServerCallHandler());
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        if (!tracer.isEnabled()) {
+            return next.startCall(call, headers);
+        }
+        long now = System.nanoTime();
+        Long created = STREAM_CREATED.get();
+        long start = created != null ? created : now;
+        Span span = tracer.start("grpc.server " + call.getMethodDescriptor().getFullMethodName(),
+                headers.get(TRACEPARENT_KEY), start);
+        if (!span.isSampled()) {
+            return next.startCall(call, headers);
+        }
+        span.recordChild("queue-wait", start, now);
+        AtomicBoolean ended = new AtomicBoolean();
+
+        ServerCall<ReqT, RespT> tracedCall = new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                long sendStart = System.nanoTime();
+                super.sendMessage(message);
+                span.recordChild("serialize", sendStart, System.nanoTime());
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                super.close(status, trailers);
+                if (ended.compareAndSet(false, true)) {
+                    span.end();
+                }
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try (Span.Scope scope = span.makeCurrent()) {
+            listener = next.startCall(tracedCall, headers);
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                long[] parse = LAST_PARSE.get();
+                span.recordChild("deserialize", parse[0], parse[1]);
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onHalfClose() {
+                long handlerStart = System.nanoTime();
+                try (Span.Scope scope = span.makeCurrent()) {
+                    super.onHalfClose();
+                } finally {
+                    span.recordChild("handler", handlerStart, System.nanoTime());
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                // Client cancelled or deadline passed; close() may never be called
+                if (ended.compareAndSet(false, true)) {
+                    span.end();
+                }
+                super.onCancel();
+            }
+        };
+    }
+
+    private record TimedMarshaller<T>(MethodDescriptor.Marshaller<T> delegate)
+            implements MethodDescriptor.Marshaller<T> {
+        @Override
+        public InputStream stream(T value) {
+            return delegate.stream(value);
+        }
+
+        @Override
+        public T parse(InputStream stream) {
+            long start = System.nanoTime();
+            T value = delegate.parse(stream);
+            long[] parse = LAST_PARSE.get();
+            parse[0] = start;
+            parse[1] = System.nanoTime();
+            return value;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link InMemoryEmployeeRepository} made durable with an {@link EmployeeLog} and compacted snapshots.
+ * <p>
+ * A snapshot holds every employee plus the first log generation that is not fully contained in it.
+ * Recovery memory-maps the snapshot, then replays the log segments from that generation on; a torn
+ * record at the end of a segment is truncated away. Replaying a record that is also in the snapshot
+ * is harmless because records are keyed by id.
+ */
+public class DurableEmployeeRepository implements EmployeeRepository {
+
+    private static final Logger log = Logger.getLogger(DurableEmployeeRepository.class.getName());
+    private static final String SNAPSHOT = "employees.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x454D5031;
+
+    private final InMemoryEmployeeRepository index;
+    // Writers share the read side; rotation takes the write side so no write straddles a segment switch
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    private final Path directory;
+    private final boolean snapshotOnClose;
+    private final EmployeeLog employeeLog;
+    private final ScheduledExecutorService scheduler;
+
+    public DurableEmployeeRepository(EmployeeStoreProperties properties) throws IOException {
+        this.directory = properties.getDirectory();
+        this.snapshotOnClose = properties.isSnapshotOnClose();
+        // Recovery restores straight into the index, so replayed records are not published as changes
+        this.index = new InMemoryEmployeeRepository(properties.getChangeFeedCapacity());
+        Files.createDirectories(directory);
+
+        long start = System.nanoTime();
+        int snapshotGeneration = loadSnapshot();
+        int lastGeneration = replayLog(snapshotGeneration);
+        log.info(String.format("Recovered %d employees from %s in %d ms",
+                index.size(), directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+        this.employeeLog = new EmployeeLog(directory, Math.max(snapshotGeneration, lastGeneration + 1),
+                properties.isFsync());
+
+        long interval = properties.getSnapshotInterval().toMillis();
+        if (interval > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    r -> Thread.ofPlatform().daemon().name("employee-snapshot").unstarted(r));
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public Employee findById(int id) {
+        return index.findById(id);
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        rotationLock.readLock().lock();
+        try {
+            // Logged before it is visible, so no reader or watcher sees a write recovery would lose
+            List<Employee> stored = List.of(index.assignId(employee));
+            append(stored, "Failed to append employee to log");
+            index.storeAssigned(stored);
+            index.changes().publish(EmployeeChange.Type.CREATED, stored);
+            return stored.get(0);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> saveAll(List<Employee> employees) {
+        rotationLock.readLock().lock();
+        try {
+            List<Employee> stored = index.assignIds(employees);
+            append(stored, "Failed to append employees to log");
+            index.storeAssigned(stored);
+            index.changes().publish(EmployeeChange.Type.CREATED, stored);
+            return stored;
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    /** Logs ids reserved by the index; if that fails they are given up so iteration can pass them. */
+    private void append(List<Employee> assigned, String failure) {
+        try {
+            employeeLog.append(assigned);
+        } catch (IOException e) {
+            index.abandonAssigned(assigned);
+            throw new UncheckedIOException(failure, e);
+        } catch (RuntimeException e) {
+            index.abandonAssigned(assigned);
+            throw e;
+        }
+    }
+
+    @Override
+    public Iterator<Employee> iterateAfter(int afterId) {
+        return index.iterateAfter(afterId);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /** Changes are published once they are in the log and the index, so a watcher never sees a write recovery would lose. */
+    @Override
+    public EmployeeChangeFeed changes() {
+        return index.changes();
+    }
+
+    @Override
+    public EmployeeSearchResult search(EmployeeQuery query) {
+        return index.search(query);
+    }
+
+    /**
+     * Writes a compacted snapshot and deletes the log segments it covers. Writers are only
+     * paused for the segment rotation, not while the snapshot is written.
+     */
+    public synchronized void snapshot() throws IOException {
+        int generation;
+        rotationLock.writeLock().lock();
+        try {
+            generation = employeeLog.rotate();
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+
+        // Everything logged before the rotation is already in the index
+        Path tmp = directory.resolve(SNAPSHOT + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream os = Channels.newOutputStream(channel)) {
+            CodedOutputStream out = CodedOutputStream.newInstance(os, 1 << 16);
+            out.writeFixed32NoTag(SNAPSHOT_MAGIC);
+            out.writeFixed32NoTag(generation);
+            Iterator<Employee> employees = index.iterateAfter(0);
+            while (employees.hasNext()) {
+                out.writeMessageNoTag(employees.next());
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // The rename must be durable before the segments it covers are deleted
+        EmployeeLog.forceDirectory(directory);
+
+        for (int older : EmployeeLog.generations(directory)) {
+            if (older < generation) {
+                Files.deleteIfExists(EmployeeLog.segment(directory, older));
+            }
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, "Periodic snapshot failed", e);
+        }
+    }
+
+    /** Loads the snapshot, if any, and returns the first log generation to replay. */
+    private int loadSnapshot() throws IOException {
+        Path path = directory.resolve(SNAPSHOT);
+        if (!Files.exists(path)) {
+            return 1;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB cannot be mapped in one piece: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CodedInputStream in = CodedInputStream.newInstance(mapped);
+            if (in.readFixed32() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not an employee snapshot: " + path);
+            }
+            int generation = in.readFixed32();
+            while (!in.isAtEnd()) {
+                Employee.Builder builder = Employee.newBuilder();
+                in.readMessage(builder, ExtensionRegistryLite.getEmptyRegistry());
+                index.restore(builder.build());
+            }
+            return generation;
+        }
+    }
+
+    /** Replays segments from {@code fromGeneration} on and returns the last generation seen. */
+    private int replayLog(int fromGeneration) throws IOException {
+        int last = fromGeneration - 1;
+        for (int generation : EmployeeLog.generations(directory)) {
+            Path segment = EmployeeLog.segment(directory, generation);
+            if (generation < fromGeneration) {
+                // Left behind by a snapshot that was interrupted after its rename
+                Files.deleteIfExists(segment);
+                continue;
+            }
+            replaySegment(segment);
+            last = generation;
+        }
+        return last;
+    }
+
+    private void replaySegment(Path segment) throws IOException {
+        long validBytes = 0;
+        boolean torn = false;
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(segment), 1 << 16)) {
+            CodedInputStream in = CodedInputStream.newInstance(stream);
+            while (!in.isAtEnd()) {
+                Employee.Builder builder = Employee.newBuilder();
+                try {
+                    in.readMessage(builder, ExtensionRegistryLite.getEmptyRegistry());
+                } catch (InvalidProtocolBufferException e) {
+                    torn = true;
+                    break;
+                }
+                index.restore(builder.build());
+                // Reset per record so segments over 2 GB don't trip the stream's size limit
+                validBytes += in.getTotalBytesRead();
+                in.resetSizeCounter();
+            }
+        }
+        if (torn) {
+            log.warning("Truncating torn record at offset " + validBytes + " in " + segment);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (scheduler != null) {
+            // Not shutdownNow: interrupting a running snapshot would close its file channel
+            scheduler.shutdown();
+            try {
+                // A snapshot still running would otherwise rotate a log that is already closed
+                if (!scheduler.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.warning("Periodic snapshot still running after one minute; closing anyway");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for the periodic snapshot");
+            }
+        }
+        if (snapshotOnClose) {
+            snapshot();
+        }
+        employeeLog.close();
+    }
+}
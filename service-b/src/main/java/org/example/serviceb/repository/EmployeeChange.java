@@ -0,0 +1,16 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+/**
+ * One write to the employee store, as published on {@link EmployeeChangeFeed}.
+ *
+ * @param sequence position in the feed; strictly increasing in publication order
+ */
+public record EmployeeChange(long sequence, Type type, Employee employee) {
+
+    public enum Type {
+        CREATED,
+        UPDATED
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sequenced change log of the employee store, kept as a fixed-size ring of the most recent
+ * changes.
+ *
+ * <p>Writers only append to the ring and poke subscribers, so they never wait on a slow reader.
+ * Each subscriber holds nothing but its position and pulls at its own pace; one that falls more
+ * than {@link #capacity()} changes behind is {@linkplain Subscription#lost() lost} and has to
+ * resynchronize from a full read. Sequence numbers restart with the process, so each feed has a
+ * random {@link #id()} a resuming subscriber must present.
+ */
+public final class EmployeeChangeFeed {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final String id = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+    private final AtomicReferenceArray<EmployeeChange> ring;
+    private final int mask;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile long lastSequence;
+
+    /** @param capacity changes retained for resuming subscribers, rounded up to a power of two */
+    public EmployeeChangeFeed(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public int capacity() {
+        return ring.length();
+    }
+
+    /** Sequence of the most recent change, or 0 if nothing has been published. */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    void publish(EmployeeChange.Type type, List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            long sequence = lastSequence;
+            for (Employee employee : employees) {
+                sequence++;
+                ring.set((int) sequence & mask, new EmployeeChange(sequence, type, employee));
+            }
+            // Volatile write after the slots, so a reader that sees the sequence sees the changes
+            lastSequence = sequence;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.listener.run();
+        }
+    }
+
+    /**
+     * Starts reading after {@code afterSequence}; {@code listener} runs on the writer's thread
+     * after every publish, so it must only hand off, never block.
+     *
+     * @throws IllegalArgumentException if {@code afterSequence} has not been published yet
+     */
+    public Subscription subscribe(long afterSequence, Runnable listener) {
+        if (afterSequence < 0 || afterSequence > lastSequence) {
+            throw new IllegalArgumentException("Sequence " + afterSequence + " is ahead of the feed at " + lastSequence);
+        }
+        Subscription subscription = new Subscription(afterSequence, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /** A reader's position in the feed. Not thread-safe; one reader drains it at a time. */
+    public final class Subscription implements AutoCloseable {
+        private final Runnable listener;
+        private long position;
+
+        private Subscription(long position, Runnable listener) {
+            this.position = position;
+            this.listener = listener;
+        }
+
+        /** Sequence of the last change returned by {@link #next()}. */
+        public long position() {
+            return position;
+        }
+
+        /** The next change, or null if the subscriber is caught up or {@link #lost()}. */
+        public EmployeeChange next() {
+            if (position >= lastSequence) {
+                return null;
+            }
+            EmployeeChange change = ring.get((int) (position + 1) & mask);
+            if (change == null || change.sequence() != position + 1) {
+                return null;
+            }
+            position++;
+            return change;
+        }
+
+        /** True once the changes after {@link #position()} have been overwritten in the ring. */
+        public boolean lost() {
+            return lastSequence - position > ring.length();
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+}
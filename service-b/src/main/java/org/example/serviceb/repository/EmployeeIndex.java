@@ -0,0 +1,380 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * Secondary indexes over the employee store: department id to posting list, salary to ids in a
+ * sorted map, a lower-cased name trie and a bitmap of active employees.
+ *
+ * <p>A search walks the index that is already in the requested order, starting at the cursor:
+ * ids (or the department's posting list, itself in id order) for {@code ID}, the salary map for
+ * the salary sorts and the trie for {@code NAME}. The other filters are checked against the
+ * bitmap, the posting list and the stored record as it goes, and the walk stops once it has one
+ * match more than the page holds, so a page costs its own size rather than a sort of every match.
+ * The exception is a department small enough that sorting its members is cheaper than walking
+ * past everyone else to find them. Writers take a short exclusive lock; searches share a read lock.
+ */
+final class EmployeeIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, IdList> byDepartment = new HashMap<>();
+    private final TreeMap<Double, IdList> bySalary = new TreeMap<>();
+    private final TrieNode names = new TrieNode();
+    private final BitSet active = new BitSet();
+    private int maxId;
+    private int count;
+
+    /** Indexes {@code employee}, first dropping {@code previous} if it was stored under the same id. */
+    void add(Employee previous, Employee employee) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(previous);
+            } else {
+                count++;
+            }
+            int id = employee.getId();
+            for (int i = 0; i < employee.getDepartmentsCount(); i++) {
+                byDepartment.computeIfAbsent(employee.getDepartments(i).getId(), k -> new IdList()).add(id);
+            }
+            bySalary.computeIfAbsent(employee.getSalary(), k -> new IdList()).add(id);
+            names.add(key(employee), 0, id);
+            active.set(id, employee.getIsActive());
+            maxId = Math.max(maxId, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Employee employee) {
+        int id = employee.getId();
+        for (int i = 0; i < employee.getDepartmentsCount(); i++) {
+            IdList ids = byDepartment.get(employee.getDepartments(i).getId());
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+        IdList ids = bySalary.get(employee.getSalary());
+        if (ids != null) {
+            ids.remove(id);
+        }
+        names.remove(key(employee), 0, id);
+        active.clear(id);
+    }
+
+    /**
+     * @param storedUpTo highest id up to which every reserved id is stored; an {@code ID} page stops there so
+     *                   its cursor never passes a record that is still being written
+     */
+    EmployeeSearchResult search(EmployeeQuery query, IntFunction<Employee> lookup, int storedUpTo) {
+        Employee position = query.cursor() == null || query.cursor().isEmpty() ? null : query.decodeCursor();
+        Page page = new Page(query, lookup, storedUpTo);
+        if (query.limit() <= 0) {
+            return page.result();
+        }
+        lock.readLock().lock();
+        try {
+            IdList department = query.departmentId() == null ? null : byDepartment.get(query.departmentId());
+            if (department != null && query.sort() != EmployeeQuery.Sort.ID && sortIsCheaper(department, query)) {
+                sortDepartment(department, query, position, page);
+                return page.result();
+            }
+            switch (query.sort()) {
+                case ID -> walkById(query, position, page);
+                case SALARY_ASC, SALARY_DESC -> walkBySalary(query, position, page);
+                case NAME -> walkByName(query, position, page);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page.result();
+    }
+
+    /**
+     * A walk in salary or name order meets the department's members at its share of the store, so
+     * it visits about {@code limit * count / members} records; sorting the members instead costs
+     * about {@code members * log2(members)}. A small department is the one case where that wins.
+     */
+    private boolean sortIsCheaper(IdList department, EmployeeQuery query) {
+        long members = Math.max(department.size, 1);
+        long walk = (query.limit() + 1L) * count / members;
+        long sort = members * (64 - Long.numberOfLeadingZeros(members));
+        return sort < walk;
+    }
+
+    private void sortDepartment(IdList department, EmployeeQuery query, Employee position, Page page) {
+        List<Employee> members = new ArrayList<>();
+        for (int i = 0; i < department.size; i++) {
+            Employee employee = page.matching(department.ids[i]);
+            if (employee != null && (position == null || query.sort().order.compare(employee, position) > 0)) {
+                members.add(employee);
+            }
+        }
+        members.sort(query.sort().order);
+        for (Employee employee : members) {
+            if (!page.add(employee)) {
+                return;
+            }
+        }
+    }
+
+    /** The department's posting list if the query names one, otherwise every id, skipping by the active bitmap. */
+    private void walkById(EmployeeQuery query, Employee position, Page page) {
+        int after = position == null ? 0 : position.getId();
+        if (query.departmentId() != null) {
+            IdList ids = byDepartment.get(query.departmentId());
+            if (ids != null) {
+                ids.walkAfter(after, page);
+            }
+            return;
+        }
+        for (int id = nextCandidate(query, after + 1); id > 0 && id <= maxId; id = nextCandidate(query, id + 1)) {
+            if (!page.offer(id)) {
+                return;
+            }
+        }
+    }
+
+    private int nextCandidate(EmployeeQuery query, int from) {
+        if (Boolean.TRUE.equals(query.active())) {
+            return active.nextSetBit(from);
+        }
+        if (Boolean.FALSE.equals(query.active())) {
+            return active.nextClearBit(from);
+        }
+        return from;
+    }
+
+    /** Salary buckets inside the query's range, in sort direction, from the cursor's bucket on. */
+    private void walkBySalary(EmployeeQuery query, Employee position, Page page) {
+        double min = query.minSalary() == null ? Double.NEGATIVE_INFINITY : query.minSalary();
+        double max = query.maxSalary() == null ? Double.POSITIVE_INFINITY : query.maxSalary();
+        if (min > max) {
+            return;
+        }
+        NavigableMap<Double, IdList> range = bySalary.subMap(min, true, max, true);
+        if (query.sort() == EmployeeQuery.Sort.SALARY_DESC) {
+            range = range.descendingMap();
+        }
+        if (position != null) {
+            range = range.tailMap(position.getSalary(), true);
+        }
+        for (Map.Entry<Double, IdList> bucket : range.entrySet()) {
+            // Ties are ordered by id in both directions, so only the cursor's own bucket starts part way
+            int after = position != null && Double.compare(bucket.getKey(), position.getSalary()) == 0
+                    ? position.getId() : 0;
+            if (!bucket.getValue().walkAfter(after, page)) {
+                return;
+            }
+        }
+    }
+
+    /** The name trie in key order, from the prefix node and the cursor's key on. */
+    private void walkByName(EmployeeQuery query, Employee position, Page page) {
+        String prefix = query.namePrefix() == null ? "" : query.namePrefix();
+        TrieNode node = names.find(prefix, 0);
+        if (node == null) {
+            return;
+        }
+        if (position == null) {
+            node.walk(prefix.length(), null, 0, page);
+            return;
+        }
+        String from = key(position);
+        if (from.startsWith(prefix)) {
+            node.walk(prefix.length(), from, position.getId(), page);
+        } else if (from.compareTo(prefix) < 0) {
+            node.walk(prefix.length(), null, 0, page);
+        }
+        // Otherwise the cursor is already past every name with this prefix
+    }
+
+    private static String key(Employee employee) {
+        return employee.getName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Collects matches in walk order until it holds one more than the page size, so the walk stops
+     * there and the extra match only tells whether another page follows.
+     */
+    private final class Page {
+        private final EmployeeQuery query;
+        private final IntFunction<Employee> lookup;
+        private final int storedUpTo;
+        private final List<Employee> employees = new ArrayList<>();
+
+        Page(EmployeeQuery query, IntFunction<Employee> lookup, int storedUpTo) {
+            this.query = query;
+            this.lookup = lookup;
+            this.storedUpTo = storedUpTo;
+        }
+
+        /** Returns false once the page is full and the walk should stop. */
+        boolean offer(int id) {
+            if (query.sort() == EmployeeQuery.Sort.ID && id > storedUpTo) {
+                return false;
+            }
+            if (query.departmentId() != null && query.sort() != EmployeeQuery.Sort.ID) {
+                IdList department = byDepartment.get(query.departmentId());
+                if (department == null || !department.contains(id)) {
+                    return true;
+                }
+            }
+            Employee employee = matching(id);
+            return employee == null || add(employee);
+        }
+
+        /** The stored record under {@code id} if it passes every filter, checking the active bitmap first. */
+        Employee matching(int id) {
+            if (query.active() != null && active.get(id) != query.active()) {
+                return null;
+            }
+            // The indexes only narrow the walk; the stored record has the final say
+            Employee employee = lookup.apply(id);
+            return employee != null && query.matches(employee) ? employee : null;
+        }
+
+        /** Appends a match in result order; returns false once the page is full. */
+        boolean add(Employee employee) {
+            employees.add(employee);
+            return employees.size() <= query.limit();
+        }
+
+        EmployeeSearchResult result() {
+            if (employees.size() <= query.limit()) {
+                return new EmployeeSearchResult(List.copyOf(employees), "");
+            }
+            List<Employee> page = List.copyOf(employees.subList(0, query.limit()));
+            String next = page.isEmpty() ? "" : query.cursorAfter(page.get(page.size() - 1));
+            return new EmployeeSearchResult(page, next);
+        }
+    }
+
+    /** Ids kept in ascending order; appends are the common case since ids grow. */
+    private static final class IdList {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            // An employee listed twice in one department is still one posting
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            int pos = size;
+            // Concurrent saves can index slightly out of id order; shift the few larger ids up
+            while (pos > 0 && ids[pos - 1] > id) {
+                ids[pos] = ids[pos - 1];
+                pos--;
+            }
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                size--;
+            }
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        /** Offers every id greater than {@code afterId}; returns false if the page filled up. */
+        boolean walkAfter(int afterId, Page page) {
+            int pos = Arrays.binarySearch(ids, 0, size, afterId);
+            for (int i = pos >= 0 ? pos + 1 : -pos - 1; i < size; i++) {
+                if (!page.offer(ids[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Lower-cased names, children kept in character order so a depth-first walk visits keys sorted. */
+    private static final class TrieNode {
+        private final TreeMap<Character, TrieNode> children = new TreeMap<>();
+        private IdList ids;
+
+        void add(String name, int depth, int id) {
+            if (depth == name.length()) {
+                if (ids == null) {
+                    ids = new IdList();
+                }
+                ids.add(id);
+                return;
+            }
+            children.computeIfAbsent(name.charAt(depth), c -> new TrieNode()).add(name, depth + 1, id);
+        }
+
+        void remove(String name, int depth, int id) {
+            if (depth == name.length()) {
+                if (ids != null) {
+                    ids.remove(id);
+                }
+                return;
+            }
+            TrieNode child = children.get(name.charAt(depth));
+            if (child != null) {
+                child.remove(name, depth + 1, id);
+            }
+        }
+
+        TrieNode find(String prefix, int depth) {
+            if (depth == prefix.length()) {
+                return this;
+            }
+            TrieNode child = children.get(prefix.charAt(depth));
+            return child == null ? null : child.find(prefix, depth + 1);
+        }
+
+        /**
+         * Offers ids in key order, by id within a key. With {@code from} set, which must run
+         * through this node, starts after key {@code from} and id {@code afterId}. Returns false
+         * if the page filled up.
+         */
+        boolean walk(int depth, String from, int afterId, Page page) {
+            if (from == null || depth == from.length()) {
+                if (ids != null && !ids.walkAfter(from == null ? 0 : afterId, page)) {
+                    return false;
+                }
+                for (TrieNode child : children.values()) {
+                    if (!child.walk(depth + 1, null, 0, page)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            // This node's own key is a proper prefix of the cursor's, so it sorts before it
+            char next = from.charAt(depth);
+            TrieNode same = children.get(next);
+            if (same != null && !same.walk(depth + 1, from, afterId, page)) {
+                return false;
+            }
+            for (TrieNode child : children.tailMap(next, false).values()) {
+                if (!child.walk(depth + 1, null, 0, page)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of length-delimited {@link Employee} records, split into numbered segments.
+ * <p>
+ * Appends are written under a short lock, then wait for an fsync covering their end offset.
+ * Only one thread fsyncs at a time and each fsync covers everything appended before it started,
+ * so concurrent writers share a single fsync (group commit).
+ */
+final class EmployeeLog implements AutoCloseable {
+
+    private static final Pattern SEGMENT = Pattern.compile("employees-(\\d+)\\.log");
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    // Guarded by this
+    private FileChannel channel;
+    private int generation;
+    private long written;
+
+    private volatile long synced;
+
+    EmployeeLog(Path directory, int generation, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        open(generation);
+    }
+
+    static Path segment(Path directory, int generation) {
+        return directory.resolve(String.format("employees-%06d.log", generation));
+    }
+
+    /** Generations of the segments present in {@code directory}, ascending. */
+    static List<Integer> generations(Path directory) throws IOException {
+        List<Integer> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher m = SEGMENT.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    generations.add(Integer.parseInt(m.group(1)));
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    void append(List<Employee> employees) throws IOException {
+        int total = 0;
+        for (Employee emp : employees) {
+            int size = emp.getSerializedSize();
+            total += CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+        }
+        // Serialize outside the lock; only the file write is serialized
+        byte[] buffer = new byte[total];
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        for (Employee emp : employees) {
+            out.writeMessageNoTag(emp);
+        }
+        out.checkNoSpaceLeft();
+
+        long end;
+        synchronized (this) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            written += total;
+            end = written;
+        }
+        if (fsync) {
+            awaitDurable(end);
+        }
+    }
+
+    private void awaitDurable(long end) throws IOException {
+        if (synced >= end) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= end) {
+                // Covered by the fsync we were waiting behind
+                return;
+            }
+            FileChannel current;
+            long target;
+            synchronized (this) {
+                current = channel;
+                target = written;
+            }
+            current.force(false);
+            synced = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** Seals the current segment and starts the next one; returns the new generation. */
+    int rotate() throws IOException {
+        syncLock.lock();
+        try {
+            synchronized (this) {
+                channel.force(false);
+                channel.close();
+                synced = written;
+                open(generation + 1);
+                return generation;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void open(int generation) throws IOException {
+        this.channel = FileChannel.open(segment(directory, generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.generation = generation;
+        if (fsync) {
+            // Otherwise a crash can lose the new segment's directory entry along with its synced records
+            forceDirectory(directory);
+        }
+    }
+
+    /** Makes creations, renames and deletions in {@code directory} durable, where the platform allows it. */
+    static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory as a channel; NTFS journals the metadata anyway
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        syncLock.lock();
+        try {
+            synchronized (this) {
+                channel.force(false);
+                channel.close();
+                synced = written;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+}
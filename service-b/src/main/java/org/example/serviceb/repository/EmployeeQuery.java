@@ -0,0 +1,100 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Filter, order and page position for {@link EmployeeRepository#search}. Null filters match
+ * everything; {@code namePrefix} is case-insensitive.
+ *
+ * @param cursor opaque position returned as {@link EmployeeSearchResult#nextCursor()}, or null for the first page
+ */
+public record EmployeeQuery(Integer departmentId, Boolean active, Double minSalary, Double maxSalary,
+                            String namePrefix, Sort sort, String cursor, int limit) {
+
+    public enum Sort {
+        ID(Comparator.comparingInt(Employee::getId)),
+        SALARY_ASC(Comparator.comparingDouble(Employee::getSalary).thenComparingInt(Employee::getId)),
+        SALARY_DESC(Comparator.comparingDouble(Employee::getSalary).reversed().thenComparingInt(Employee::getId)),
+        /** Case-insensitive, like {@code namePrefix}. */
+        NAME(Comparator.comparing((Employee e) -> e.getName().toLowerCase(Locale.ROOT)).thenComparingInt(Employee::getId));
+
+        final Comparator<Employee> order;
+
+        Sort(Comparator<Employee> order) {
+            this.order = order;
+        }
+
+        /** Result order, ties broken by id so every position is unique. */
+        public Comparator<Employee> comparator() {
+            return order;
+        }
+    }
+
+    public EmployeeQuery {
+        if (namePrefix != null) {
+            namePrefix = namePrefix.isEmpty() ? null : namePrefix.toLowerCase(Locale.ROOT);
+        }
+        if (sort == null) {
+            sort = Sort.ID;
+        }
+    }
+
+    /** Evaluates every filter against the stored record; used for index residuals and as the scan baseline. */
+    public boolean matches(Employee employee) {
+        if (active != null && employee.getIsActive() != active) {
+            return false;
+        }
+        if (minSalary != null && employee.getSalary() < minSalary) {
+            return false;
+        }
+        if (maxSalary != null && employee.getSalary() > maxSalary) {
+            return false;
+        }
+        if (namePrefix != null && !employee.getName().toLowerCase(Locale.ROOT).startsWith(namePrefix)) {
+            return false;
+        }
+        if (departmentId != null) {
+            for (int i = 0; i < employee.getDepartmentsCount(); i++) {
+                if (employee.getDepartments(i).getId() == departmentId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /** Encodes the sort key and id of the last employee on a page. */
+    String cursorAfter(Employee last) {
+        String key = switch (sort) {
+            case ID -> "";
+            case SALARY_ASC, SALARY_DESC -> Double.toString(last.getSalary());
+            case NAME -> last.getName();
+        };
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + ":" + last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** The position {@link #cursor} points after, as a stand-in employee comparable with {@link Sort#order}. */
+    Employee decodeCursor() {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = decoded.lastIndexOf(':');
+            String key = decoded.substring(0, colon);
+            Employee.Builder position = Employee.newBuilder().setId(Integer.parseInt(decoded.substring(colon + 1)));
+            switch (sort) {
+                case SALARY_ASC, SALARY_DESC -> position.setSalary(Double.parseDouble(key));
+                case NAME -> position.setName(key);
+                case ID -> { }
+            }
+            return position.build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token: " + cursor, e);
+        }
+    }
+}
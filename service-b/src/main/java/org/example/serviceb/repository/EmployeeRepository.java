@@ -0,0 +1,42 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Single source of employee data for both the gRPC and REST APIs.
+ * Ids are always assigned by the repository; any id on an incoming employee is ignored.
+ */
+public interface EmployeeRepository extends AutoCloseable {
+
+    /** Returns the employee with this id, or {@code null} if there is none. */
+    Employee findById(int id);
+
+    /** Stores the employee under a newly allocated id and returns the stored copy. */
+    Employee save(Employee employee);
+
+    /** Stores all employees under one contiguous range of new ids, returned in input order. */
+    List<Employee> saveAll(List<Employee> employees);
+
+    /**
+     * Iterates employees with an id greater than {@code afterId} in ascending id order. Weakly
+     * consistent, but stops short of any id that is reserved and not yet stored, so resuming after
+     * the last id returned never skips a record.
+     */
+    Iterator<Employee> iterateAfter(int afterId);
+
+    int size();
+
+    /** Sequenced feed of every save, for watchers that want changes pushed instead of polling. */
+    EmployeeChangeFeed changes();
+
+    /** Returns one page of employees matching {@code query}, answered from secondary indexes. */
+    EmployeeSearchResult search(EmployeeQuery query);
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.serviceb.repository;
+
+import com.example.Department;
+import com.example.Employee;
+import com.google.protobuf.Timestamp;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Instant;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeStoreProperties.class)
+public class EmployeeRepositoryConfig {
+
+    @Bean
+    public EmployeeRepository employeeRepository(EmployeeStoreProperties properties) throws IOException {
+        EmployeeRepository repository = switch (properties.getType()) {
+            case MEMORY -> new InMemoryEmployeeRepository(properties.getChangeFeedCapacity());
+            case DURABLE -> new DurableEmployeeRepository(properties);
+        };
+        if (repository.size() == 0) {
+            // Preload one employee for testing
+            Department dept = Department.newBuilder().setId(1).setName("Engineering").build();
+            repository.save(Employee.newBuilder()
+                    .setName("Gaurav")
+                    .setSalary(95000.0)
+                    .addDepartments(dept)
+                    .putAddressMap("city", "Bangalore")
+                    .putAddressMap("country", "India")
+                    .setIsActive(true)
+                    .setJoinDate(Timestamp.newBuilder().setSeconds(Instant.now().getEpochSecond()).build())
+                    .build());
+        }
+        return repository;
+    }
+
+    @Bean
+    public ProfilePictureStore profilePictureStore(EmployeeStoreProperties properties) throws IOException {
+        long maxSize = properties.getMaxPictureSize().toBytes();
+        return switch (properties.getType()) {
+            case MEMORY -> new InMemoryProfilePictureStore(maxSize);
+            case DURABLE -> new FileProfilePictureStore(properties.getDirectory().resolve("pictures"), maxSize);
+        };
+    }
+}
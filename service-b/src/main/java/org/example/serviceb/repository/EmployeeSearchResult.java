@@ -0,0 +1,13 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+import java.util.List;
+
+/**
+ * One page of search results.
+ *
+ * @param nextCursor pass back as {@link EmployeeQuery#cursor()} for the next page; empty on the last page
+ */
+public record EmployeeSearchResult(List<Employee> employees, String nextCursor) {
+}
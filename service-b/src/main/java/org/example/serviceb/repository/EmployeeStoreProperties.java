@@ -0,0 +1,89 @@
+package org.example.serviceb.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Selects and tunes the employee store, bound from {@code employee.store}.
+ */
+@ConfigurationProperties(prefix = "employee.store")
+public class EmployeeStoreProperties {
+
+    public enum Type {
+        /** Heap only; data is lost on restart. */
+        MEMORY,
+        /** Heap index backed by an append-only log and periodic snapshots. */
+        DURABLE
+    }
+
+    private Type type = Type.MEMORY;
+    private Path directory = Path.of("data");
+    /** fsync log appends before acknowledging writes; concurrent writers share one fsync. */
+    private boolean fsync = true;
+    /** How often to write a compacted snapshot and drop replayed log segments; zero disables. */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+    private boolean snapshotOnClose = true;
+    /** Largest profile picture accepted by uploadProfilePicture. */
+    private DataSize maxPictureSize = DataSize.ofMegabytes(20);
+    /** Recent changes kept for watchEmployees subscribers to resume from or lag behind by. */
+    private int changeFeedCapacity = EmployeeChangeFeed.DEFAULT_CAPACITY;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public boolean isFsync() {
+        return fsync;
+    }
+
+    public void setFsync(boolean fsync) {
+        this.fsync = fsync;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public boolean isSnapshotOnClose() {
+        return snapshotOnClose;
+    }
+
+    public void setSnapshotOnClose(boolean snapshotOnClose) {
+        this.snapshotOnClose = snapshotOnClose;
+    }
+
+    public DataSize getMaxPictureSize() {
+        return maxPictureSize;
+    }
+
+    public void setMaxPictureSize(DataSize maxPictureSize) {
+        this.maxPictureSize = maxPictureSize;
+    }
+
+    public int getChangeFeedCapacity() {
+        return changeFeedCapacity;
+    }
+
+    public void setChangeFeedCapacity(int changeFeedCapacity) {
+        this.changeFeedCapacity = changeFeedCapacity;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.serviceb.repository;
+
+import com.google.protobuf.ByteString;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One file per picture. Uploads stream into a temporary file that is fsynced and atomically
+ * renamed on commit, so readers only ever see complete pictures.
+ */
+public class FileProfilePictureStore implements ProfilePictureStore {
+
+    private final Path directory;
+    private final long maxSize;
+
+    public FileProfilePictureStore(Path directory, long maxSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public long maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public Upload begin(int employeeId) throws IOException {
+        Path tmp = Files.createTempFile(directory, employeeId + "-", ".tmp");
+        FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE);
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+        return new Upload() {
+            private long size;
+            private boolean committed;
+
+            @Override
+            public void write(ByteString chunk) throws IOException {
+                chunk.writeTo(out);
+                size += chunk.size();
+            }
+
+            @Override
+            public long commit() throws IOException {
+                out.flush();
+                channel.force(false);
+                out.close();
+                Files.move(tmp, picture(employeeId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                committed = true;
+                return size;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!committed) {
+                    out.close();
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        };
+    }
+
+    @Override
+    public InputStream open(int employeeId) throws IOException {
+        try {
+            return Files.newInputStream(picture(employeeId));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private Path picture(int employeeId) {
+        return directory.resolve(employeeId + ".bin");
+    }
+}
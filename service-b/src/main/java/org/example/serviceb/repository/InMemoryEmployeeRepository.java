@@ -0,0 +1,224 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Heap store indexed directly by id. Ids are handed out densely by an atomic counter, so the
+ * index is a growable directory of fixed-size chunks: lookups are two array reads with no
+ * {@code Integer} boxing or hashing, and iteration in id order is a plain scan.
+ * <p>
+ * An id is reserved before its record is stored, and concurrent writers store out of order, so
+ * iteration stops at the {@linkplain #storedUpTo() watermark} below which every reserved id is
+ * stored (or was abandoned). A stream or id-ordered search that resumes after the last id it saw
+ * therefore never steps over a record that is about to appear behind it.
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final AtomicInteger lastId = new AtomicInteger();
+    private volatile int storedUpTo;
+    /** Ranges stored ahead of the watermark, first id to last id; guarded by itself. */
+    private final TreeMap<Integer, Integer> storedAhead = new TreeMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final EmployeeIndex searchIndex = new EmployeeIndex();
+    private final EmployeeChangeFeed changes;
+    @SuppressWarnings("unchecked")
+    private volatile AtomicReferenceArray<Employee>[] chunks = new AtomicReferenceArray[16];
+
+    public InMemoryEmployeeRepository() {
+        this(EmployeeChangeFeed.DEFAULT_CAPACITY);
+    }
+
+    /** @param changeFeedCapacity changes retained for {@link #changes()} subscribers to resume from */
+    public InMemoryEmployeeRepository(int changeFeedCapacity) {
+        this.changes = new EmployeeChangeFeed(changeFeedCapacity);
+    }
+
+    @Override
+    public Employee findById(int id) {
+        AtomicReferenceArray<Employee> chunk = chunk(id, false);
+        return chunk == null ? null : chunk.get(id & CHUNK_MASK);
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        Employee stored = store(employee);
+        changes.publish(EmployeeChange.Type.CREATED, List.of(stored));
+        return stored;
+    }
+
+    @Override
+    public List<Employee> saveAll(List<Employee> employees) {
+        List<Employee> stored = storeAll(employees);
+        changes.publish(EmployeeChange.Type.CREATED, stored);
+        return stored;
+    }
+
+    /** {@link #save} without publishing the change, for callers that publish once it is durable. */
+    Employee store(Employee employee) {
+        Employee stored = assignId(employee);
+        put(stored);
+        markStored(stored.getId(), stored.getId());
+        return stored;
+    }
+
+    /** {@link #saveAll} without publishing the changes. */
+    List<Employee> storeAll(List<Employee> employees) {
+        List<Employee> stored = assignIds(employees);
+        storeAssigned(stored);
+        return stored;
+    }
+
+    /** Reserves the next id for {@code employee} without storing it, so it can be logged first. */
+    Employee assignId(Employee employee) {
+        return employee.toBuilder().setId(lastId.incrementAndGet()).build();
+    }
+
+    /** Reserves a contiguous block of ids, one per employee, without storing them. */
+    List<Employee> assignIds(List<Employee> employees) {
+        int firstId = lastId.getAndAdd(employees.size()) + 1;
+        List<Employee> assigned = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            assigned.add(employees.get(i).toBuilder().setId(firstId + i).build());
+        }
+        return assigned;
+    }
+
+    /** Stores employees whose ids came from {@link #assignId} or {@link #assignIds}, without publishing them. */
+    void storeAssigned(List<Employee> employees) {
+        employees.forEach(this::put);
+        markCompleted(employees);
+    }
+
+    /** Gives up ids whose write failed, so they no longer hold the watermark back. */
+    void abandonAssigned(List<Employee> employees) {
+        markCompleted(employees);
+    }
+
+    /**
+     * Highest id such that every id up to it is stored or abandoned. Iteration and id-ordered
+     * search stop here, so their resume positions never pass a reserved id still being written.
+     */
+    int storedUpTo() {
+        return storedUpTo;
+    }
+
+    @Override
+    public Iterator<Employee> iterateAfter(int afterId) {
+        return new Iterator<>() {
+            private int cursor = Math.max(afterId, 0);
+            private Employee next;
+
+            @Override
+            public boolean hasNext() {
+                int end = storedUpTo;
+                while (next == null && cursor < end) {
+                    next = findById(++cursor);
+                }
+                return next != null;
+            }
+
+            @Override
+            public Employee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Employee emp = next;
+                next = null;
+                return emp;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public EmployeeChangeFeed changes() {
+        return changes;
+    }
+
+    @Override
+    public EmployeeSearchResult search(EmployeeQuery query) {
+        return searchIndex.search(query, this::findById, storedUpTo);
+    }
+
+    /** Re-inserts an employee with the id it already has, used when recovering from disk. */
+    void restore(Employee employee) {
+        put(employee);
+        lastId.accumulateAndGet(employee.getId(), Math::max);
+        // Recovery runs before any write, so every id up to the highest restored one is settled
+        synchronized (storedAhead) {
+            storedUpTo = Math.max(storedUpTo, employee.getId());
+        }
+    }
+
+    private void markCompleted(List<Employee> employees) {
+        if (!employees.isEmpty()) {
+            // Ids from one assignIds call are contiguous and in order
+            markStored(employees.get(0).getId(), employees.get(employees.size() - 1).getId());
+        }
+    }
+
+    private void markStored(int from, int to) {
+        synchronized (storedAhead) {
+            if (from > storedUpTo + 1) {
+                storedAhead.put(from, to);
+                return;
+            }
+            int upTo = Math.max(storedUpTo, to);
+            Integer next;
+            while ((next = storedAhead.remove(upTo + 1)) != null) {
+                upTo = next;
+            }
+            storedUpTo = upTo;
+        }
+    }
+
+    private void put(Employee employee) {
+        Employee previous = chunk(employee.getId(), true).getAndSet(employee.getId() & CHUNK_MASK, employee);
+        if (previous == null) {
+            size.incrementAndGet();
+        }
+        searchIndex.add(previous, employee);
+    }
+
+    private AtomicReferenceArray<Employee> chunk(int id, boolean create) {
+        if (id <= 0) {
+            return null;
+        }
+        int index = id >>> CHUNK_BITS;
+        AtomicReferenceArray<Employee>[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        return create ? createChunk(index) : null;
+    }
+
+    private synchronized AtomicReferenceArray<Employee> createChunk(int index) {
+        AtomicReferenceArray<Employee>[] current = chunks;
+        if (index >= current.length) {
+            current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+        }
+        if (current[index] == null) {
+            current[index] = new AtomicReferenceArray<>(CHUNK_SIZE);
+        }
+        // Republish through the volatile field so readers see the new chunk
+        chunks = current;
+        return current[index];
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.serviceb.repository;
+
+import com.google.protobuf.ByteString;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heap picture store. Uploaded chunks are joined into a rope {@link ByteString}, which links
+ * the chunks rather than copying them into one array.
+ */
+public class InMemoryProfilePictureStore implements ProfilePictureStore {
+
+    private final long maxSize;
+    private final ConcurrentHashMap<Integer, ByteString> pictures = new ConcurrentHashMap<>();
+
+    public InMemoryProfilePictureStore(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public long maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public Upload begin(int employeeId) {
+        List<ByteString> chunks = new ArrayList<>();
+        return new Upload() {
+            @Override
+            public void write(ByteString chunk) {
+                chunks.add(chunk);
+            }
+
+            @Override
+            public long commit() {
+                ByteString picture = ByteString.copyFrom(chunks);
+                pictures.put(employeeId, picture);
+                return picture.size();
+            }
+
+            @Override
+            public void close() {
+                chunks.clear();
+            }
+        };
+    }
+
+    @Override
+    public InputStream open(int employeeId) {
+        ByteString picture = pictures.get(employeeId);
+        return picture == null ? null : picture.newInput();
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.serviceb.repository;
+
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Profile pictures, kept apart from the {@code Employee} records so large images never
+ * inflate employee messages. Pictures are written and read as streams of chunks.
+ */
+public interface ProfilePictureStore {
+
+    /** Largest picture accepted, in bytes. */
+    long maxSize();
+
+    /** Starts a new picture for the employee; it replaces the current one only once committed. */
+    Upload begin(int employeeId) throws IOException;
+
+    /** Opens the employee's picture for sequential reading, or returns {@code null} if there is none. */
+    InputStream open(int employeeId) throws IOException;
+
+    interface Upload extends AutoCloseable {
+
+        void write(ByteString chunk) throws IOException;
+
+        /** Publishes the picture and returns its size. */
+        long commit() throws IOException;
+
+        /** Discards the picture unless it was committed. */
+        @Override
+        void close() throws IOException;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.serviceb.grpc;
+
+import com.example.AddEmployeesAck;
+import com.example.AddEmployeesRequest;
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AddEmployeesTest {
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void acknowledgesEachBatchWithItsIdsInOrder() throws Exception {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        Result result = send(repository, 3, 4);
+
+        result.completion.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(1, 2, 3, 4), List.of(5, 6, 7, 8), List.of(9, 10, 11, 12)), result.acks);
+        assertEquals(12, repository.size());
+        assertEquals("bulk 2-3", repository.findById(12).getName());
+    }
+
+    @Test
+    void failedBatchFailsTheStreamAndEarlierBatchesStay() throws Exception {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository() {
+            private int batches;
+
+            @Override
+            public List<Employee> saveAll(List<Employee> employees) {
+                if (++batches == 2) {
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+                return super.saveAll(employees);
+            }
+        };
+        Result result = send(repository, 3, 4);
+
+        Status status = Status.fromThrowable(
+                result.completion.handle((ok, t) -> t).get(5, TimeUnit.SECONDS));
+        assertEquals(Status.Code.INTERNAL, status.getCode());
+        assertEquals(List.of(List.of(1, 2, 3, 4)), result.acks);
+        assertEquals(4, repository.size());
+    }
+
+    private record Result(List<List<Integer>> acks, CompletableFuture<Void> completion) {
+    }
+
+    private Result send(InMemoryEmployeeRepository repository, int batches, int batchSize) throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1 << 20)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+
+        List<List<Integer>> acks = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        StreamObserver<AddEmployeesRequest> requests = EmployeeServiceGrpc.newStub(channel)
+                .addEmployees(new StreamObserver<>() {
+                    @Override
+                    public void onNext(AddEmployeesAck ack) {
+                        acks.add(ack.getIdsList());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        completion.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completion.complete(null);
+                    }
+                });
+        for (int b = 0; b < batches; b++) {
+            int batch = b;
+            requests.onNext(AddEmployeesRequest.newBuilder()
+                    .addAllEmployees(IntStream.range(0, batchSize)
+                            .mapToObj(i -> Employee.newBuilder().setName("bulk " + batch + "-" + i).build())
+                            .toList())
+                    .build());
+        }
+        requests.onCompleted();
+        return new Result(acks, completion);
+    }
+}
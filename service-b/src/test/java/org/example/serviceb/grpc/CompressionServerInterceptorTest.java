@@ -0,0 +1,129 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeList;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetAllEmployeesRequest;
+import com.example.GetEmployeeRequest;
+import com.example.common.grpc.Codecs;
+import io.grpc.DecompressorRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompressionServerInterceptorTest {
+
+    private static final Metadata.Key<String> GRPC_ENCODING =
+            Metadata.Key.of("grpc-encoding", Metadata.ASCII_STRING_MARSHALLER);
+
+    private InMemoryEmployeeRepository repository;
+    private Server server;
+    private final List<ManagedChannel> channels = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new InMemoryEmployeeRepository();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(Employee.newBuilder().setName("compressible " + i).putAddressMap("city", "Springfield").build());
+        }
+        repository.saveAll(employees);
+
+        CompressionProperties properties = new CompressionProperties();
+        properties.getMethods().put("com.example.EmployeeService/getAllEmployees", Codecs.SNAPPY);
+        server = NettyServerBuilder.forPort(0)
+                .compressorRegistry(Codecs.compressorRegistry())
+                .decompressorRegistry(Codecs.decompressorRegistry())
+                .addService(ServerInterceptors.intercept(
+                        new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1 << 20)),
+                        new CompressionServerInterceptor(properties)))
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channels.forEach(ManagedChannel::shutdownNow);
+        server.shutdownNow();
+    }
+
+    @Test
+    void configuredMethodIsCompressedWithItsCodec() {
+        AtomicReference<Metadata> headers = new AtomicReference<>();
+        EmployeeList list = stub(Codecs.decompressorRegistry(), headers)
+                .getAllEmployees(GetAllEmployeesRequest.getDefaultInstance());
+
+        assertEquals(200, list.getEmployeesCount());
+        assertEquals(Codecs.SNAPPY, headers.get().get(GRPC_ENCODING));
+    }
+
+    @Test
+    void otherMethodsStayUncompressed() {
+        AtomicReference<Metadata> headers = new AtomicReference<>();
+        Employee employee = stub(Codecs.decompressorRegistry(), headers)
+                .getEmployee(GetEmployeeRequest.newBuilder().setId(1).build());
+
+        assertEquals("compressible 0", employee.getName());
+        assertEquals(Codecs.IDENTITY, headers.get().get(GRPC_ENCODING));
+    }
+
+    @Test
+    void clientNotAcceptingTheCodecGetsIdentity() {
+        AtomicReference<Metadata> headers = new AtomicReference<>();
+        EmployeeList list = stub(DecompressorRegistry.getDefaultInstance(), headers)
+                .getAllEmployees(GetAllEmployeesRequest.getDefaultInstance());
+
+        assertEquals(200, list.getEmployeesCount());
+        assertEquals(Codecs.IDENTITY, headers.get().get(GRPC_ENCODING));
+    }
+
+    @Test
+    void compressedRequestsAreAccepted() {
+        Employee.Builder employee = Employee.newBuilder().setName("snappy request");
+        for (int i = 0; i < 100; i++) {
+            employee.putAddressMap("line-" + i, "Evergreen Terrace " + i);
+        }
+
+        Employee saved = stub(Codecs.decompressorRegistry(), new AtomicReference<>())
+                .withCompression(Codecs.SNAPPY)
+                .addEmployee(employee.build());
+
+        assertEquals(100, repository.findById(saved.getId()).getAddressMapCount());
+    }
+
+    @Test
+    void unknownCodecFailsAtStartup() {
+        CompressionProperties properties = new CompressionProperties();
+        properties.setCodec("brotli");
+
+        assertThrows(IllegalArgumentException.class, () -> new CompressionServerInterceptor(properties));
+    }
+
+    private EmployeeServiceGrpc.EmployeeServiceBlockingStub stub(DecompressorRegistry decompressors,
+                                                                 AtomicReference<Metadata> headers) {
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .compressorRegistry(Codecs.compressorRegistry())
+                .decompressorRegistry(decompressors)
+                .build();
+        channels.add(channel);
+        return EmployeeServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newCaptureMetadataInterceptor(headers, new AtomicReference<>()));
+    }
+}
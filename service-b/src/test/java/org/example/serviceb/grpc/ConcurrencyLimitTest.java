@@ -0,0 +1,115 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void limitBacksOffOnSlowSamplesAndGrowsWhenBusy() {
+        AimdLimit limit = new AimdLimit(100, 10, 200, 0.5, 2.0, 1000);
+        limit.onSample(MILLIS, 60, false);
+        assertEquals(101, limit.getLimit());
+
+        limit.onSample(5 * MILLIS, 60, false);
+        assertEquals(50, limit.getLimit());
+
+        limit.onSample(MILLIS, 60, true);
+        assertEquals(25, limit.getLimit());
+
+        // Mostly idle: fast samples do not raise the limit
+        limit.onSample(MILLIS, 1, false);
+        assertEquals(25, limit.getLimit());
+    }
+
+    @Test
+    void callsBeyondLimitAreRejected() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(2);
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        EmployeeServiceGrpc.EmployeeServiceImplBase blocking = new EmployeeServiceGrpc.EmployeeServiceImplBase() {
+            @Override
+            public void getEmployee(GetEmployeeRequest request, StreamObserver<Employee> responseObserver) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                responseObserver.onNext(Employee.newBuilder().setId(request.getId()).build());
+                responseObserver.onCompleted();
+            }
+        };
+
+        String name = InProcessServerBuilder.generateName();
+        Server server = InProcessServerBuilder.forName(name)
+                .addService(ServerInterceptors.intercept(blocking,
+                        new ConcurrencyLimitServerInterceptor(properties, new SimpleMeterRegistry())))
+                .build()
+                .start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        try {
+            EmployeeServiceGrpc.EmployeeServiceStub async = EmployeeServiceGrpc.newStub(channel);
+            CompletableFuture<Employee> first = call(async, 1);
+            CompletableFuture<Employee> second = call(async, 2);
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            StatusRuntimeException rejected = assertThrows(StatusRuntimeException.class,
+                    () -> EmployeeServiceGrpc.newBlockingStub(channel)
+                            .getEmployee(GetEmployeeRequest.newBuilder().setId(3).build()));
+            assertEquals(Status.Code.RESOURCE_EXHAUSTED, rejected.getStatus().getCode());
+
+            release.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(2, second.get(5, TimeUnit.SECONDS).getId());
+        } finally {
+            release.countDown();
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    private static CompletableFuture<Employee> call(EmployeeServiceGrpc.EmployeeServiceStub stub, int id) {
+        CompletableFuture<Employee> future = new CompletableFuture<>();
+        stub.getEmployee(GetEmployeeRequest.newBuilder().setId(id).build(), new StreamObserver<>() {
+            @Override
+            public void onNext(Employee value) {
+                future.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        return future;
+    }
+}
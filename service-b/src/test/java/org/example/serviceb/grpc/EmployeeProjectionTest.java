@@ -0,0 +1,56 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.FieldMask;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeProjectionTest {
+
+    private static final Employee EMPLOYEE = Employee.newBuilder()
+            .setId(7)
+            .setName("Gaurav")
+            .setSalary(95000.0)
+            .putAddressMap("city", "Bangalore")
+            .setProfilePicture(ByteString.copyFrom(new byte[1024]))
+            .build();
+
+    @Test
+    void keepsOnlyMaskedFields() {
+        Employee projected = EmployeeProjection.of(FieldMask.newBuilder()
+                .addPaths("id").addPaths("name").addPaths("salary").build()).apply(EMPLOYEE);
+
+        assertEquals(Employee.newBuilder().setId(7).setName("Gaurav").setSalary(95000.0).build(), projected);
+    }
+
+    @Test
+    void emptyMaskReturnsStoredInstance() {
+        assertSame(EMPLOYEE, EmployeeProjection.of(FieldMask.getDefaultInstance()).apply(EMPLOYEE));
+        assertSame(EMPLOYEE, EmployeeProjection.parse(" ").apply(EMPLOYEE));
+    }
+
+    @Test
+    void parsesRestFieldList() {
+        Employee projected = EmployeeProjection.parse("name, addressMap").apply(EMPLOYEE);
+
+        assertEquals(Employee.newBuilder().setId(7).setName("Gaurav").putAddressMap("city", "Bangalore").build(),
+                projected);
+    }
+
+    @Test
+    void idIsReturnedEvenWhenNotMasked() {
+        Employee projected = EmployeeProjection.of(FieldMask.newBuilder().addPaths("salary").build()).apply(EMPLOYEE);
+
+        assertEquals(Employee.newBuilder().setId(7).setSalary(95000.0).build(), projected);
+    }
+
+    @Test
+    void rejectsUnknownAndNestedPaths() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeeProjection.parse("nickname"));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeProjection.parse("departments.name"));
+    }
+}
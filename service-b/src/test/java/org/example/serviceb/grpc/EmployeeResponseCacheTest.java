@@ -0,0 +1,151 @@
+package org.example.serviceb.grpc;
+
+import com.example.Department;
+import com.example.Employee;
+import com.example.EmployeeList;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetAllEmployeesRequest;
+import com.example.GetEmployeeRequest;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.FieldMask;
+import io.grpc.Drainable;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.example.serviceb.repository.TestWrites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeResponseCacheTest {
+
+    private InMemoryEmployeeRepository repository;
+    private EmployeeResponseCache cache;
+    private List<Employee> stored;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryEmployeeRepository();
+        cache = new EmployeeResponseCache(repository, new ResponseCacheProperties());
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(Employee.newBuilder()
+                    .setName("cached " + i)
+                    .setSalary(1000.0 * i)
+                    .addDepartments(Department.newBuilder().setId(i % 3).setName("d" + i % 3))
+                    .putAddressMap("city", "c" + i)
+                    .setProfilePicture(ByteString.copyFrom(new byte[i * 40]))
+                    .build());
+        }
+        stored = repository.saveAll(employees);
+    }
+
+    @Test
+    void cachedEncodingIsByteForByteTheProtobufEncoding() throws IOException {
+        Employee employee = stored.get(17);
+        assertArrayEquals(employee.toByteArray(), drain(cache.employeeMarshaller().stream(employee)));
+        // Second call is served from the cache and must read the same way as a plain stream
+        assertArrayEquals(employee.toByteArray(), cache.employeeMarshaller().stream(employee).readAllBytes());
+
+        EmployeeList list = EmployeeList.newBuilder().addAllEmployees(stored).build();
+        assertArrayEquals(list.toByteArray(), drain(cache.employeeListMarshaller().stream(list)));
+        assertEquals(list, cache.employeeListMarshaller().parse(cache.employeeListMarshaller().stream(list)));
+    }
+
+    @Test
+    void onlyStoredInstancesAreCached() throws IOException {
+        Employee projected = Employee.newBuilder().setId(stored.get(3).getId()).setName("cached 3").build();
+        assertArrayEquals(projected.toByteArray(), drain(cache.employeeMarshaller().stream(projected)));
+        assertEquals(0, cache.size());
+
+        drain(cache.employeeMarshaller().stream(stored.get(3)));
+        int size = stored.get(3).getSerializedSize();
+        // Cached framed as a list element: tag byte, length varint, body
+        assertEquals(1 + CodedOutputStream.computeUInt32SizeNoTag(size) + size, cache.size());
+    }
+
+    @Test
+    void writeDropsTheCachedEntry() throws IOException {
+        Employee original = stored.get(5);
+        drain(cache.employeeMarshaller().stream(original));
+        assertTrue(cache.contains(original));
+
+        Employee updated = original.toBuilder().setName("renamed").build();
+        TestWrites.update(repository, updated);
+
+        assertFalse(cache.contains(original));
+        Employee current = repository.findById(updated.getId());
+        assertArrayEquals(updated.toByteArray(), drain(cache.employeeMarshaller().stream(current)));
+        assertTrue(cache.contains(current));
+    }
+
+    @Test
+    void fullCacheEvictsOldEntriesToMakeRoomForNewOnes() throws IOException {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxSize(DataSize.ofBytes(4096));
+        EmployeeResponseCache small = new EmployeeResponseCache(repository, properties);
+        Employee hot = stored.get(1);
+        for (Employee employee : stored) {
+            drain(small.employeeMarshaller().stream(employee));
+            drain(small.employeeMarshaller().stream(hot));
+        }
+
+        assertTrue(small.size() <= 4096, "held " + small.size());
+        assertTrue(small.contains(stored.get(stored.size() - 1)));
+        assertFalse(small.contains(stored.get(10)));
+        // Read between every insert, so each sweep spares it
+        assertTrue(small.contains(hot));
+        small.close();
+    }
+
+    @Test
+    void boundServiceAnswersFromTheCacheOverATransport() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        Server server = InProcessServerBuilder.forName(name)
+                .addService(cache.bind(new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1024))
+                        .bindService()))
+                .build()
+                .start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+        try {
+            EmployeeServiceGrpc.EmployeeServiceBlockingStub stub = EmployeeServiceGrpc.newBlockingStub(channel);
+            for (int round = 0; round < 2; round++) {
+                assertEquals(stored, stub.getAllEmployees(GetAllEmployeesRequest.getDefaultInstance()).getEmployeesList());
+                assertEquals(stored.get(9), stub.getEmployee(GetEmployeeRequest.newBuilder()
+                        .setId(stored.get(9).getId())
+                        .build()));
+            }
+            Employee projected = stub.getEmployee(GetEmployeeRequest.newBuilder()
+                    .setId(stored.get(9).getId())
+                    .setReadMask(FieldMask.newBuilder().addPaths("name"))
+                    .build());
+            assertEquals(Employee.newBuilder().setId(stored.get(9).getId()).setName("cached 9").build(), projected);
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    private static byte[] drain(InputStream stream) throws IOException {
+        Drainable drainable = assertInstanceOf(Drainable.class, stream);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        drainable.drainTo(out);
+        return out.toByteArray();
+    }
+}
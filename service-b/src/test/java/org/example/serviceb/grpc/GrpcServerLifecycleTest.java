@@ -0,0 +1,63 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.example.common.grpc.WireCapture;
+import com.example.common.grpc.WireCaptureProperties;
+import com.example.common.tracing.Tracer;
+import com.example.common.tracing.TracingProperties;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the Netty server once per executor type, serves a call and stops it. Throughput per
+ * executor is measured by ServerExecutorBenchmark in the benchmarks module.
+ */
+class GrpcServerLifecycleTest {
+
+    @ParameterizedTest
+    @EnumSource(GrpcServerProperties.ExecutorType.class)
+    void startsServesAndStops(GrpcServerProperties.ExecutorType executor) {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        int id = repository.save(Employee.newBuilder().setName("lifecycle").build()).getId();
+
+        GrpcServerProperties properties = new GrpcServerProperties();
+        properties.setPort(0);
+        properties.setExecutor(executor);
+        properties.setExecutorThreads(2);
+        properties.setWorkerThreads(2);
+        GrpcServer server = new GrpcServer(properties,
+                new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1 << 20)),
+                new WireCapture(new WireCaptureProperties()),
+                new MetricsServerInterceptor(new SimpleMeterRegistry()),
+                new ConcurrencyLimitServerInterceptor(new ConcurrencyLimitProperties(), new SimpleMeterRegistry()),
+                new EmployeeResponseCache(repository, new ResponseCacheProperties()),
+                new TracingServerInterceptor(new Tracer(new TracingProperties(), "service-b")),
+                new CompressionServerInterceptor(new CompressionProperties()));
+        server.start();
+        assertTrue(server.isRunning());
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .build();
+        try {
+            Employee employee = EmployeeServiceGrpc.newBlockingStub(channel)
+                    .getEmployee(GetEmployeeRequest.newBuilder().setId(id).build());
+
+            assertEquals("lifecycle", employee.getName());
+        } finally {
+            channel.shutdownNow();
+            server.stop();
+        }
+        assertFalse(server.isRunning());
+    }
+}
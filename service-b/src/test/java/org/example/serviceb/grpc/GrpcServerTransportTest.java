@@ -0,0 +1,56 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.example.common.grpc.WireCapture;
+import com.example.common.grpc.WireCaptureProperties;
+import com.example.common.tracing.Tracer;
+import com.example.common.tracing.TracingProperties;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GrpcServerTransportTest {
+
+    @Test
+    void inProcessTransportRunsTheSameInterceptorChain() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        int id = repository.save(Employee.newBuilder().setName("co-located").build()).getId();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        GrpcServerProperties properties = new GrpcServerProperties();
+        properties.setTransport(GrpcServerProperties.Transport.IN_PROCESS);
+        properties.setInProcessName("transport-test");
+        GrpcServer server = new GrpcServer(properties,
+                new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1 << 20)),
+                new WireCapture(new WireCaptureProperties()),
+                new MetricsServerInterceptor(registry),
+                new ConcurrencyLimitServerInterceptor(new ConcurrencyLimitProperties(), registry),
+                new EmployeeResponseCache(repository, new ResponseCacheProperties()),
+                new TracingServerInterceptor(new Tracer(new TracingProperties(), "service-b")),
+                new CompressionServerInterceptor(new CompressionProperties()));
+        server.start();
+        ManagedChannel channel = InProcessChannelBuilder.forName("transport-test").build();
+        try {
+            Employee employee = EmployeeServiceGrpc.newBlockingStub(channel)
+                    .getEmployee(GetEmployeeRequest.newBuilder().setId(id).build());
+
+            assertEquals("co-located", employee.getName());
+            assertEquals(-1, server.getPort());
+            assertEquals(1, registry.get("grpc.server.calls")
+                    .tag("method", "com.example.EmployeeService/getEmployee")
+                    .tag("status", "OK")
+                    .timer()
+                    .count());
+        } finally {
+            channel.shutdownNow();
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeChangeEvent;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.example.WatchEmployeesRequest;
+import io.grpc.Context;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsServerInterceptorTest {
+
+    private static final String ADD = "com.example.EmployeeService/addEmployee";
+    private static final String GET = "com.example.EmployeeService/getEmployee";
+    private static final String WATCH = "com.example.EmployeeService/watchEmployees";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(ServerInterceptors.intercept(
+                        new EmployeeServiceImpl(new InMemoryEmployeeRepository(), new InMemoryProfilePictureStore(1024)),
+                        new MetricsServerInterceptor(registry)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void timesCallsByMethodAndStatusAndRecordsSizes() {
+        EmployeeServiceGrpc.EmployeeServiceBlockingStub stub = EmployeeServiceGrpc.newBlockingStub(channel);
+        Employee request = Employee.newBuilder().setName("Ada").setSalary(1000.0).build();
+        Employee saved = stub.addEmployee(request);
+        assertThrows(StatusRuntimeException.class,
+                () -> stub.getEmployee(GetEmployeeRequest.newBuilder().setId(saved.getId() + 1).build()));
+
+        assertEquals(1, registry.get("grpc.server.calls").tag("method", ADD).tag("status", "OK").timer().count());
+        assertEquals(1, registry.get("grpc.server.calls").tag("method", GET).tag("status", "NOT_FOUND").timer().count());
+        assertEquals(request.getSerializedSize(), size(ADD, "request").totalAmount());
+        assertEquals(saved.getSerializedSize(), size(ADD, "response").totalAmount());
+        assertEquals(0, size(GET, "response").count());
+        assertEquals(0.0, registry.get("grpc.server.calls.in.flight").tag("method", GET).gauge().value());
+    }
+
+    @Test
+    void clientCancellationIsRecordedOnceAsCancelled() {
+        try (Context.CancellableContext context = Context.current().withCancellation()) {
+            context.run(() -> EmployeeServiceGrpc.newStub(channel)
+                    .watchEmployees(WatchEmployeesRequest.getDefaultInstance(), new StreamObserver<>() {
+                        @Override
+                        public void onNext(EmployeeChangeEvent value) {
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                        }
+                    }));
+            awaitTrue(() -> inFlight(WATCH) == 1.0);
+            context.cancel(null);
+        }
+
+        awaitTrue(() -> registry.find("grpc.server.calls").tag("method", WATCH).tag("status", "CANCELLED")
+                .timer() != null);
+        assertEquals(1, registry.get("grpc.server.calls").tag("method", WATCH).timer().count());
+        assertEquals(0.0, inFlight(WATCH));
+    }
+
+    private DistributionSummary size(String method, String direction) {
+        return registry.get("grpc.server.message.size")
+                .tag("method", method)
+                .tag("direction", direction)
+                .summary();
+    }
+
+    private double inFlight(String method) {
+        Gauge gauge = registry.find("grpc.server.calls.in.flight").tag("method", method).gauge();
+        return gauge == null ? 0.0 : gauge.value();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
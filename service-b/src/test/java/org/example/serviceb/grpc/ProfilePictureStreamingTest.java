@@ -0,0 +1,134 @@
+package org.example.serviceb.grpc;
+
+import com.example.DownloadProfilePictureRequest;
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.ProfilePictureChunk;
+import com.example.ProfilePictureUploadResult;
+import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.example.serviceb.repository.FileProfilePictureStore;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilePictureStreamingTest {
+
+    private static final int MAX_SIZE = 2 * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private Server server;
+    private ManagedChannel channel;
+    private int employeeId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        employeeId = repository.save(Employee.newBuilder().setName("pictured").build()).getId();
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new EmployeeServiceImpl(repository, new FileProfilePictureStore(directory, MAX_SIZE)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void downloadReturnsUploadedPictureInChunks() throws Exception {
+        byte[] picture = new byte[MAX_SIZE - 17];
+        new Random(7).nextBytes(picture);
+
+        ProfilePictureUploadResult result = upload(employeeId, picture, 50_000).get(10, TimeUnit.SECONDS);
+        assertEquals(picture.length, result.getSize());
+
+        Iterator<ProfilePictureChunk> chunks = EmployeeServiceGrpc.newBlockingStub(channel)
+                .downloadProfilePicture(DownloadProfilePictureRequest.newBuilder()
+                        .setEmployeeId(employeeId)
+                        .setChunkSize(16 * 1024)
+                        .build());
+        ByteArrayOutputStream downloaded = new ByteArrayOutputStream();
+        int count = 0;
+        while (chunks.hasNext()) {
+            ByteString data = chunks.next().getData();
+            assertTrue(data.size() <= 16 * 1024);
+            data.writeTo(downloaded);
+            count++;
+        }
+        assertArrayEquals(picture, downloaded.toByteArray());
+        assertTrue(count > 1);
+    }
+
+    @Test
+    void oversizedUploadIsRejected() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> upload(employeeId, new byte[MAX_SIZE + 1], 64 * 1024).get(10, TimeUnit.SECONDS));
+        StatusRuntimeException status = assertInstanceOf(StatusRuntimeException.class, e.getCause());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, status.getStatus().getCode());
+    }
+
+    @Test
+    void uploadForUnknownEmployeeIsRejected() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> upload(employeeId + 1000, new byte[10], 64).get(10, TimeUnit.SECONDS));
+        StatusRuntimeException status = assertInstanceOf(StatusRuntimeException.class, e.getCause());
+        assertEquals(Status.Code.NOT_FOUND, status.getStatus().getCode());
+    }
+
+    private CompletableFuture<ProfilePictureUploadResult> upload(int id, byte[] picture, int chunkSize) {
+        CompletableFuture<ProfilePictureUploadResult> result = new CompletableFuture<>();
+        StreamObserver<ProfilePictureChunk> requests = EmployeeServiceGrpc.newStub(channel)
+                .uploadProfilePicture(new StreamObserver<>() {
+                    @Override
+                    public void onNext(ProfilePictureUploadResult value) {
+                        result.complete(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        for (int off = 0; off < picture.length; off += chunkSize) {
+            requests.onNext(ProfilePictureChunk.newBuilder()
+                    .setEmployeeId(id)
+                    .setData(ByteString.copyFrom(picture, off, Math.min(chunkSize, picture.length - off)))
+                    .build());
+        }
+        requests.onCompleted();
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeServiceGrpc;
+import com.example.GetEmployeeRequest;
+import com.example.common.grpc.WireCapture;
+import com.example.common.grpc.WireCaptureProperties;
+import com.example.common.tracing.Tracer;
+import com.example.common.tracing.TracingProperties;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracingServerInterceptorTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    @Test
+    void continuesCallerTraceWithOneSpanPerPhase() {
+        List<Tracer.SpanData> spans = awaitSpans(call("00-" + TRACE_ID + "-" + PARENT_ID + "-01", 0.0), 5);
+
+        Tracer.SpanData server = spans.stream()
+                .filter(s -> s.name().equals("grpc.server com.example.EmployeeService/getEmployee"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(PARENT_ID, server.parentSpanId());
+        assertEquals("service-b", server.service());
+        Set<String> phases = spans.stream()
+                .filter(s -> server.spanId().equals(s.parentSpanId()))
+                .map(Tracer.SpanData::name)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("queue-wait", "deserialize", "handler", "serialize"), phases);
+    }
+
+    @Test
+    void honoursCallerDecisionNotToSample() {
+        assertTrue(call("00-" + TRACE_ID + "-" + PARENT_ID + "-00", 1.0).recent(null).isEmpty());
+    }
+
+    @Test
+    void malformedTraceparentStartsNewTrace() {
+        List<Tracer.SpanData> spans = awaitSpans(call("00-not-a-trace", 1.0), 5);
+
+        assertEquals(5, spans.size());
+        assertTrue(spans.stream().noneMatch(s -> s.traceId().equals(TRACE_ID)));
+    }
+
+    /** Sends one getEmployee with {@code traceparent} and returns the server's tracer. */
+    private static Tracer call(String traceparent, double sampleRate) {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        int id = repository.save(Employee.newBuilder().setName("traced").build()).getId();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TracingProperties tracing = new TracingProperties();
+        tracing.setSampleRate(sampleRate);
+        Tracer tracer = new Tracer(tracing, "service-b");
+
+        GrpcServerProperties properties = new GrpcServerProperties();
+        properties.setTransport(GrpcServerProperties.Transport.IN_PROCESS);
+        properties.setInProcessName("tracing-test");
+        GrpcServer server = new GrpcServer(properties,
+                new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1 << 20)),
+                new WireCapture(new WireCaptureProperties()),
+                new MetricsServerInterceptor(registry),
+                new ConcurrencyLimitServerInterceptor(new ConcurrencyLimitProperties(), registry),
+                new EmployeeResponseCache(repository, new ResponseCacheProperties()),
+                new TracingServerInterceptor(tracer),
+                new CompressionServerInterceptor(new CompressionProperties()));
+        server.start();
+        ManagedChannel channel = InProcessChannelBuilder.forName("tracing-test").build();
+        try {
+            Metadata headers = new Metadata();
+            headers.put(TracingServerInterceptor.TRACEPARENT_KEY, traceparent);
+            Employee employee = EmployeeServiceGrpc.newBlockingStub(channel)
+                    .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers))
+                    .getEmployee(GetEmployeeRequest.newBuilder().setId(id).build());
+            assertEquals("traced", employee.getName());
+        } finally {
+            channel.shutdownNow();
+            server.stop();
+        }
+        return tracer;
+    }
+
+    // The handler span is recorded once the handler returns, which can be after the client has its response
+    private static List<Tracer.SpanData> awaitSpans(Tracer tracer, int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<Tracer.SpanData> spans = tracer.recent(null);
+        while (spans.size() < count && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            spans = tracer.recent(null);
+        }
+        return spans;
+    }
+}
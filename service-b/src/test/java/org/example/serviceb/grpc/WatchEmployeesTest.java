@@ -0,0 +1,176 @@
+package org.example.serviceb.grpc;
+
+import com.example.Employee;
+import com.example.EmployeeChangeEvent;
+import com.example.EmployeeServiceGrpc;
+import com.example.WatchEmployeesRequest;
+import io.grpc.Context;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.example.serviceb.repository.InMemoryEmployeeRepository;
+import org.example.serviceb.repository.InMemoryProfilePictureStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WatchEmployeesTest {
+
+    private static final int CAPACITY = 64;
+
+    private InMemoryEmployeeRepository repository;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new InMemoryEmployeeRepository(CAPACITY);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new EmployeeServiceImpl(repository, new InMemoryProfilePictureStore(1024)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void watchSeesSavesInSequenceAndResumesAfterReconnect() {
+        repository.save(employee("before"));
+        String feedId;
+        long resumeAfter;
+        try (Context.CancellableContext context = Context.current().withCancellation()) {
+            Context previous = context.attach();
+            try {
+                // Resume after the first save rather than start live, so the saves below can't race the subscription
+                Iterator<EmployeeChangeEvent> events = EmployeeServiceGrpc.newBlockingStub(channel)
+                        .watchEmployees(WatchEmployeesRequest.newBuilder()
+                                .setAfterSequence(1)
+                                .setFeedId(repository.changes().id())
+                                .build());
+                repository.saveAll(List.of(employee("a"), employee("b"), employee("c")));
+
+                List<String> names = new ArrayList<>();
+                long sequence = 1;
+                EmployeeChangeEvent event = null;
+                for (int i = 0; i < 3; i++) {
+                    event = events.next();
+                    assertEquals(++sequence, event.getSequence());
+                    assertEquals(EmployeeChangeEvent.ChangeType.CREATED, event.getType());
+                    names.add(event.getEmployee().getName());
+                }
+                assertEquals(List.of("a", "b", "c"), names);
+                feedId = event.getFeedId();
+                resumeAfter = 2;
+            } finally {
+                context.detach(previous);
+            }
+        }
+
+        repository.save(employee("d"));
+        try (Context.CancellableContext context = Context.current().withCancellation()) {
+            Context previous = context.attach();
+            try {
+                Iterator<EmployeeChangeEvent> events = EmployeeServiceGrpc.newBlockingStub(channel)
+                        .watchEmployees(WatchEmployeesRequest.newBuilder()
+                                .setAfterSequence(resumeAfter)
+                                .setFeedId(feedId)
+                                .build());
+                assertEquals("b", events.next().getEmployee().getName());
+                assertEquals("c", events.next().getEmployee().getName());
+                assertEquals("d", events.next().getEmployee().getName());
+            } finally {
+                context.detach(previous);
+            }
+        }
+    }
+
+    @Test
+    void resumingFromAnotherFeedOrAnOverwrittenSequenceIsOutOfRange() {
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            repository.save(employee("e" + i));
+        }
+        StatusRuntimeException otherFeed = assertThrows(StatusRuntimeException.class, () ->
+                EmployeeServiceGrpc.newBlockingStub(channel)
+                        .watchEmployees(WatchEmployeesRequest.newBuilder().setFeedId("restarted").build())
+                        .hasNext());
+        assertEquals(Status.Code.OUT_OF_RANGE, otherFeed.getStatus().getCode());
+
+        StatusRuntimeException overwritten = assertThrows(StatusRuntimeException.class, () ->
+                EmployeeServiceGrpc.newBlockingStub(channel)
+                        .watchEmployees(WatchEmployeesRequest.newBuilder()
+                                .setAfterSequence(1)
+                                .setFeedId(repository.changes().id())
+                                .build())
+                        .hasNext());
+        assertEquals(Status.Code.OUT_OF_RANGE, overwritten.getStatus().getCode());
+    }
+
+    @Test
+    void stalledWatcherDoesNotHoldUpWritersAndIsDroppedOnceOverrun() throws Exception {
+        CompletableFuture<Status> outcome = new CompletableFuture<>();
+        List<ClientCallStreamObserver<?>> call = new ArrayList<>();
+        EmployeeServiceGrpc.newStub(channel).watchEmployees(
+                WatchEmployeesRequest.newBuilder().setFeedId(repository.changes().id()).build(),
+                new ClientResponseObserver<WatchEmployeesRequest, EmployeeChangeEvent>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<WatchEmployeesRequest> requestStream) {
+                        // Take nothing until told to, like a watcher stuck behind a slow consumer
+                        requestStream.disableAutoRequestWithInitial(0);
+                        call.add(requestStream);
+                    }
+
+                    @Override
+                    public void onNext(EmployeeChangeEvent value) {
+                        call.getFirst().request(1);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        outcome.complete(Status.fromThrowable(t));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        outcome.complete(Status.OK);
+                    }
+                });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            List<Employee> batch = new ArrayList<>();
+            for (int j = 0; j < 100; j++) {
+                batch.add(employee("w" + j));
+            }
+            repository.saveAll(batch);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+
+        call.getFirst().request(1);
+        assertEquals(Status.Code.OUT_OF_RANGE, outcome.get(10, TimeUnit.SECONDS).getCode());
+    }
+
+    private static Employee employee(String name) {
+        return Employee.newBuilder().setName(name).build();
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DurableEmployeeRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private EmployeeStoreProperties properties(boolean snapshotOnClose) {
+        EmployeeStoreProperties properties = new EmployeeStoreProperties();
+        properties.setType(EmployeeStoreProperties.Type.DURABLE);
+        properties.setDirectory(directory);
+        properties.setSnapshotInterval(Duration.ZERO);
+        properties.setSnapshotOnClose(snapshotOnClose);
+        return properties;
+    }
+
+    @Test
+    void recoversFromLogOnly() throws IOException {
+        try (DurableEmployeeRepository repository = new DurableEmployeeRepository(properties(false))) {
+            repository.save(Employee.newBuilder().setName("a").build());
+            repository.saveAll(List.of(Employee.newBuilder().setName("b").build(), Employee.newBuilder().setName("c").build()));
+        }
+
+        try (DurableEmployeeRepository recovered = new DurableEmployeeRepository(properties(false))) {
+            assertEquals(3, recovered.size());
+            assertEquals("c", recovered.findById(3).getName());
+            // Ids continue after the recovered ones
+            assertEquals(4, recovered.save(Employee.newBuilder().setName("d").build()).getId());
+        }
+    }
+
+    @Test
+    void recoversFromSnapshotPlusLogTail() throws IOException {
+        try (DurableEmployeeRepository repository = new DurableEmployeeRepository(properties(false))) {
+            repository.save(Employee.newBuilder().setName("before").build());
+            repository.snapshot();
+            repository.save(Employee.newBuilder().setName("after").build());
+        }
+
+        try (DurableEmployeeRepository recovered = new DurableEmployeeRepository(properties(false))) {
+            assertEquals(2, recovered.size());
+            assertEquals("before", recovered.findById(1).getName());
+            assertEquals("after", recovered.findById(2).getName());
+        }
+    }
+
+    @Test
+    void truncatesTornTailRecord() throws IOException {
+        try (DurableEmployeeRepository repository = new DurableEmployeeRepository(properties(false))) {
+            repository.save(Employee.newBuilder().setName("complete").build());
+        }
+        // Simulate a crash mid-append: a length prefix promising more bytes than were written
+        try (FileChannel channel = FileChannel.open(EmployeeLog.segment(directory, 1), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{40, 8, 2}));
+        }
+
+        try (DurableEmployeeRepository recovered = new DurableEmployeeRepository(properties(false))) {
+            assertEquals(1, recovered.size());
+            assertEquals(2, recovered.save(Employee.newBuilder().setName("next").build()).getId());
+        }
+        try (DurableEmployeeRepository recovered = new DurableEmployeeRepository(properties(false))) {
+            assertEquals(2, recovered.size());
+        }
+    }
+
+    @Test
+    void failedAppendLeavesNothingVisible() throws IOException {
+        DurableEmployeeRepository repository = new DurableEmployeeRepository(properties(false));
+        repository.save(Employee.newBuilder().setName("logged").build());
+        repository.close();
+
+        // The log is closed, so the append fails before the employees reach the index
+        assertThrows(UncheckedIOException.class, () -> repository.saveAll(
+                List.of(Employee.newBuilder().setName("lost").build(), Employee.newBuilder().setName("lost").build())));
+        assertEquals(1, repository.size());
+        assertNull(repository.findById(2));
+    }
+
+    @Test
+    void snapshotWithFsyncRecovers() throws IOException {
+        EmployeeStoreProperties properties = properties(true);
+        properties.setFsync(true);
+        try (DurableEmployeeRepository repository = new DurableEmployeeRepository(properties)) {
+            repository.save(Employee.newBuilder().setName("synced").build());
+        }
+
+        try (DurableEmployeeRepository recovered = new DurableEmployeeRepository(properties)) {
+            assertEquals("synced", recovered.findById(1).getName());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.serviceb.repository;
+
+import com.example.Department;
+import com.example.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSearchTest {
+
+    private static final int SMALL_DEPARTMENT = 77;
+
+    private InMemoryEmployeeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryEmployeeRepository();
+        List<Employee> batch = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Employee.Builder employee = Employee.newBuilder()
+                    .setName((i % 2 == 0 ? "Alice " : "Bob ") + i)
+                    .setSalary(40_000 + (i * 37) % 60_000)
+                    .setIsActive(i % 3 != 0)
+                    .addDepartments(Department.newBuilder().setId(i % 10));
+            if (i % 200 == 0) {
+                // Small enough that its members are sorted rather than walked to
+                employee.addDepartments(Department.newBuilder().setId(SMALL_DEPARTMENT));
+            }
+            batch.add(employee.build());
+        }
+        repository.saveAll(batch);
+    }
+
+    @Test
+    void everyFilterCombinationMatchesAFullScan() {
+        List<EmployeeQuery> queries = List.of(
+                query(3, null, null, null, null, EmployeeQuery.Sort.ID),
+                query(3, true, null, null, "alice", EmployeeQuery.Sort.SALARY_DESC),
+                query(null, null, 50_000.0, 60_000.0, null, EmployeeQuery.Sort.SALARY_ASC),
+                query(null, false, null, null, null, EmployeeQuery.Sort.NAME),
+                query(null, null, null, null, "BOB 12", EmployeeQuery.Sort.NAME),
+                query(null, null, null, null, null, EmployeeQuery.Sort.ID),
+                query(42, null, null, null, null, EmployeeQuery.Sort.ID),
+                query(null, true, null, null, null, EmployeeQuery.Sort.ID),
+                query(7, false, 45_000.0, 90_000.0, null, EmployeeQuery.Sort.SALARY_DESC),
+                query(null, null, null, null, "al", EmployeeQuery.Sort.SALARY_ASC),
+                query(null, null, 70_000.0, 60_000.0, null, EmployeeQuery.Sort.ID));
+        for (EmployeeQuery query : queries) {
+            assertEquals(scan(query), searchAll(query, 97), query.toString());
+        }
+    }
+
+    @Test
+    void smallDepartmentPagesMatchAFullScanInEveryOrder() {
+        for (EmployeeQuery.Sort sort : EmployeeQuery.Sort.values()) {
+            for (Boolean active : new Boolean[] {null, true}) {
+                EmployeeQuery query = query(SMALL_DEPARTMENT, active, null, null, null, sort);
+                assertEquals(scan(query), searchAll(query, 4), query.toString());
+            }
+        }
+    }
+
+    @Test
+    void reSavedEmployeeMovesBetweenIndexes() {
+        Employee moved = repository.findById(1).toBuilder()
+                .setName("Carol")
+                .clearDepartments()
+                .addDepartments(Department.newBuilder().setId(99))
+                .build();
+        repository.restore(moved);
+
+        assertEquals(List.of(moved), searchAll(query(99, null, null, null, null, EmployeeQuery.Sort.ID), 10));
+        assertEquals(List.of(moved), searchAll(query(null, null, null, null, "car", EmployeeQuery.Sort.ID), 10));
+        assertTrue(searchAll(query(0, null, null, null, "alice 0", EmployeeQuery.Sort.ID), 10).isEmpty());
+    }
+
+    @Test
+    void pageVisitsOnlyAsManyRecordsAsItReturns() {
+        AtomicInteger lookups = new AtomicInteger();
+        InMemoryEmployeeRepository counting = new InMemoryEmployeeRepository() {
+            @Override
+            public Employee findById(int id) {
+                lookups.incrementAndGet();
+                return super.findById(id);
+            }
+        };
+        for (int i = 1; i <= 5_000; i++) {
+            counting.restore(repository.findById(i));
+        }
+        for (EmployeeQuery.Sort sort : EmployeeQuery.Sort.values()) {
+            lookups.set(0);
+            EmployeeSearchResult page = counting.search(
+                    new EmployeeQuery(null, null, null, null, null, sort, null, 10));
+
+            assertEquals(10, page.employees().size(), sort.name());
+            // One past the page to learn whether another follows, then stop
+            assertEquals(11, lookups.get(), sort.name());
+        }
+    }
+
+    @Test
+    void nameOrderIgnoresCase() {
+        InMemoryEmployeeRepository names = new InMemoryEmployeeRepository();
+        names.saveAll(List.of(
+                Employee.newBuilder().setName("bob").build(),
+                Employee.newBuilder().setName("Alice").build(),
+                Employee.newBuilder().setName("ALAN").build(),
+                Employee.newBuilder().setName("alice").build()));
+
+        List<String> ordered = new ArrayList<>();
+        String cursor = null;
+        do {
+            EmployeeSearchResult page = names.search(
+                    new EmployeeQuery(null, null, null, null, null, EmployeeQuery.Sort.NAME, cursor, 1));
+            page.employees().forEach(e -> ordered.add(e.getName()));
+            cursor = page.nextCursor();
+        } while (!cursor.isEmpty());
+
+        assertEquals(List.of("ALAN", "Alice", "alice", "bob"), ordered);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        EmployeeQuery query = new EmployeeQuery(null, null, null, null, null, EmployeeQuery.Sort.NAME, "not a cursor", 10);
+        assertThrows(IllegalArgumentException.class, () -> repository.search(query));
+    }
+
+    private static EmployeeQuery query(Integer department, Boolean active, Double min, Double max, String prefix,
+                                       EmployeeQuery.Sort sort) {
+        return new EmployeeQuery(department, active, min, max, prefix, sort, null, 0);
+    }
+
+    /** Follows next cursors page by page until the last one. */
+    private List<Employee> searchAll(EmployeeQuery query, int pageSize) {
+        List<Employee> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            EmployeeSearchResult page = repository.search(new EmployeeQuery(query.departmentId(), query.active(),
+                    query.minSalary(), query.maxSalary(), query.namePrefix(), query.sort(), cursor, pageSize));
+            assertTrue(page.employees().size() <= pageSize);
+            all.addAll(page.employees());
+            cursor = page.nextCursor();
+        } while (!cursor.isEmpty());
+        return all;
+    }
+
+    private List<Employee> scan(EmployeeQuery query) {
+        List<Employee> matches = new ArrayList<>();
+        Iterator<Employee> it = repository.iterateAfter(0);
+        while (it.hasNext()) {
+            Employee employee = it.next();
+            if (query.matches(employee)) {
+                matches.add(employee);
+            }
+        }
+        matches.sort(query.sort().comparator());
+        return matches;
+    }
+}
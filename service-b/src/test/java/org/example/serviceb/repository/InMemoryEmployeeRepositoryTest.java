@@ -0,0 +1,101 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InMemoryEmployeeRepositoryTest {
+
+    private static final Employee TEMPLATE = Employee.newBuilder().setName("test").build();
+
+    @Test
+    void concurrentSavesGetUniqueIdsAndAreFoundById() throws Exception {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        Employee saved = repository.save(TEMPLATE);
+                        ids.add(saved.getId());
+                        assertEquals(saved, repository.findById(saved.getId()));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+        assertEquals(16_000, ids.size());
+        assertEquals(16_000, repository.size());
+    }
+
+    @Test
+    void iteratesInIdOrderAcrossChunksAndResumesAfterId() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        List<Employee> batch = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            batch.add(TEMPLATE);
+        }
+        repository.saveAll(batch);
+
+        Iterator<Employee> it = repository.iterateAfter(5_000);
+        int expected = 5_001;
+        while (it.hasNext()) {
+            assertEquals(expected++, it.next().getId());
+        }
+        assertEquals(10_001, expected);
+    }
+
+    @Test
+    void iterationStopsBeforeAnIdThatIsReservedButNotYetStored() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        List<Employee> pending = List.of(repository.assignId(TEMPLATE));
+        Employee later = repository.save(TEMPLATE);
+
+        // A resume token taken now would otherwise point past the pending id
+        assertEquals(List.of(), ids(repository.iterateAfter(0)));
+        assertEquals(List.of(), repository.search(
+                new EmployeeQuery(null, null, null, null, null, EmployeeQuery.Sort.ID, null, 10)).employees());
+
+        repository.storeAssigned(pending);
+        assertEquals(List.of(pending.get(0).getId(), later.getId()), ids(repository.iterateAfter(0)));
+        assertEquals(later.getId(), repository.storedUpTo());
+    }
+
+    @Test
+    void abandonedIdsNoLongerHoldIterationBack() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        List<Employee> failed = repository.assignIds(List.of(TEMPLATE, TEMPLATE));
+        Employee later = repository.save(TEMPLATE);
+
+        repository.abandonAssigned(failed);
+        assertEquals(List.of(later.getId()), ids(repository.iterateAfter(0)));
+    }
+
+    @Test
+    void unknownIdsAreAbsent() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        assertNull(repository.findById(0));
+        assertNull(repository.findById(-7));
+        assertNull(repository.findById(Integer.MAX_VALUE));
+    }
+
+    private static List<Integer> ids(Iterator<Employee> employees) {
+        List<Integer> ids = new ArrayList<>();
+        employees.forEachRemaining(e -> ids.add(e.getId()));
+        return ids;
+    }
+}
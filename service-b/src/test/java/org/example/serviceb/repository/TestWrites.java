@@ -0,0 +1,18 @@
+package org.example.serviceb.repository;
+
+import com.example.Employee;
+
+import java.util.List;
+
+/** Writes the repository API has no call for yet, for tests outside this package. */
+public final class TestWrites {
+
+    private TestWrites() {
+    }
+
+    /** Replaces the record stored under {@code employee}'s id and publishes the change, as an update would. */
+    public static void update(InMemoryEmployeeRepository repository, Employee employee) {
+        repository.restore(employee);
+        repository.changes().publish(EmployeeChange.Type.UPDATED, List.of(employee));
+    }
+}